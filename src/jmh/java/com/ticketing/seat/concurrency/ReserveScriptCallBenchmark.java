@@ -0,0 +1,51 @@
+package com.ticketing.seat.concurrency;
+
+import com.ticketing.seat.service.SeatMetaFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 선점 스크립트 KEYS/ARGV 구성 비용 (Redis 호출 제외)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReserveScriptCallBenchmark {
+
+    private LuaReservationExecutor executor;
+    private HoldRequest oneSeat;
+    private HoldRequest twoSeats;
+
+    @Setup
+    public void setUp() {
+        executor = new LuaReservationExecutor(null, null, SeatMetaFixtures.seatMetaService("A,B,C,D"));
+
+        long now = System.currentTimeMillis();
+        oneSeat = new HoldRequest(42L, List.of("A-12"), 1001L, 400, now, now + 300_000);
+        twoSeats = new HoldRequest(42L, List.of("A-12", "A-13"), 1001L, 400, now, now + 300_000);
+    }
+
+    @Benchmark
+    public ScriptCall prepareHoldOneSeat() {
+        return executor.prepareHold(oneSeat);
+    }
+
+    @Benchmark
+    public ScriptCall prepareHoldTwoSeats() {
+        return executor.prepareHold(twoSeats);
+    }
+
+    // 파이프라인 경로에서 추가로 드는 직렬화 비용
+    @Benchmark
+    public byte[][] prepareHoldTwoSeatsPipelined() {
+        return executor.prepareHold(twoSeats).keysAndArgs();
+    }
+}
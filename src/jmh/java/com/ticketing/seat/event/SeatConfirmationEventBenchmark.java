@@ -0,0 +1,94 @@
+package com.ticketing.seat.event;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 좌석 확정 이벤트 생성 + 프로듀서 직렬화/컨슈머 역직렬화 비용 (JSON vs SeatEventCodec 바이너리)
+ * 이벤트당 바이트 수는 트라이얼 종료 시 출력한다. (압축 전 크기)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SeatConfirmationEventBenchmark {
+
+    private static final String TOPIC = "match.seat.confirmed";
+
+    private JsonSerializer<Object> jsonSerializer;
+    private SeatEventSerializer binarySerializer;
+    private SeatEventDeserializer deserializer;
+    private List<String> seatIds;
+    private List<String> sectionIds;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() {
+        jsonSerializer = new JsonSerializer<>();
+        binarySerializer = new SeatEventSerializer();
+        deserializer = new SeatEventDeserializer();
+        seatIds = List.of("A-12", "A-13");
+        sectionIds = List.of("A", "A");
+        jsonBytes = jsonSerializer.serialize(TOPIC, new RecordHeaders(), newEvent());
+        binaryBytes = binarySerializer.serialize(TOPIC, new RecordHeaders(), newEvent());
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nbytes/event: json=%d (+ __TypeId__ header), binary=%d%n",
+                jsonBytes.length, binaryBytes.length);
+        jsonSerializer.close();
+        binarySerializer.close();
+        deserializer.close();
+    }
+
+    @Benchmark
+    public SeatConfirmationEvent buildEvent() {
+        return newEvent();
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeJson() {
+        // KafkaTemplate 경로와 같이 헤더(__TypeId__)까지 포함
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), newEvent());
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeBinary() {
+        return binarySerializer.serialize(TOPIC, new RecordHeaders(), newEvent());
+    }
+
+    @Benchmark
+    public Object deserializeJson() {
+        return deserializer.deserialize(TOPIC, new RecordHeaders(), jsonBytes);
+    }
+
+    @Benchmark
+    public Object deserializeBinary() {
+        return deserializer.deserialize(TOPIC, new RecordHeaders(), binaryBytes);
+    }
+
+    private SeatConfirmationEvent newEvent() {
+        return SeatConfirmationEvent.builder()
+                .userId(1001L)
+                .matchId(42L)
+                .seatIds(seatIds)
+                .sectionIds(sectionIds)
+                .timestamp(System.currentTimeMillis())
+                .success(true)
+                .message("예약 확정")
+                .selectionDurationMs(1234L)
+                .build();
+    }
+}
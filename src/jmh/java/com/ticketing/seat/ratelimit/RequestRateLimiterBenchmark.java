@@ -0,0 +1,59 @@
+package com.ticketing.seat.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 속도 제한 판단 비용 (활성 사용자 100k, 로컬 모드)
+ *   allowed  : 10만 명을 무작위로 돌며 항상 허용되는 경우
+ *   rejected : 한도를 다 쓴 사용자가 계속 요청하는 경우
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestRateLimiterBenchmark {
+
+    private static final int ACTIVE_USERS = 100_000;
+
+    private RequestRateLimiter generous;
+    private RequestRateLimiter strict;
+    private String[] ips;
+
+    @Setup
+    public void setUp() {
+        generous = new RequestRateLimiter(null, new SimpleMeterRegistry(), "local",
+                1_000_000, 1_000, 1_000_000, 1_000, 200_000, 60);
+        strict = new RequestRateLimiter(null, new SimpleMeterRegistry(), "local",
+                0.001, 1, 1_000_000, 1_000, 200_000, 60);
+
+        ips = new String[ACTIVE_USERS];
+        for (int i = 0; i < ACTIVE_USERS; i++) {
+            ips[i] = "10." + (i >> 16 & 0xFF) + "." + (i >> 8 & 0xFF) + "." + (i & 0xFF);
+            generous.acquire((long) i, ips[i]);
+        }
+        strict.acquire(42L, "10.0.0.42");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long allowed() {
+        int user = ThreadLocalRandom.current().nextInt(ACTIVE_USERS);
+        return generous.acquire((long) user, ips[user]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long rejected() {
+        return strict.acquire(42L, "10.0.0.42");
+    }
+}
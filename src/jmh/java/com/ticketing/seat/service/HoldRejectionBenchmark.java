@@ -0,0 +1,90 @@
+package com.ticketing.seat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.seat.dto.SeatReservationRequest;
+import com.ticketing.seat.dto.SeatReservationResponse;
+import com.ticketing.seat.metrics.TicketingMetrics;
+import com.ticketing.seat.redis.MatchStatusRepository;
+import com.ticketing.seat.result.ErrorCode;
+import com.ticketing.seat.result.HoldResult;
+import com.ticketing.seat.result.RejectionResponses;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 선점 거절 경로 비용 (gc 프로파일러의 gc.alloc.rate.norm으로 요청당 할당량을 본다)
+ *   invalidSeatCount / closedMatch : 서비스 거절 (메트릭 기록 포함, Redis 없음)
+ *   cachedRejectionBody            : 미리 직렬화한 거절 응답
+ *   serializedRejectionBody        : 거절마다 DTO를 만들고 직렬화하는 경우 (비교용)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HoldRejectionBenchmark {
+
+    private static final Long MATCH_ID = 42L;
+
+    private SeatReservationService service;
+    private RejectionResponses rejectionResponses;
+    private ObjectMapper objectMapper;
+    private SeatReservationRequest tooManySeats;
+    private SeatReservationRequest closedMatch;
+
+    @Setup
+    public void setUp() {
+        // 닫힌 매치는 near-cache에서 바로 판단되므로 Redis가 필요 없다
+        MatchStatusRepository matchStatusRepository = new MatchStatusRepository(null, 100, 3_600_000);
+        matchStatusRepository.applyStatusChange(MATCH_ID, "CLOSED");
+        TicketingMetrics metrics = new TicketingMetrics(new SimpleMeterRegistry(), 16);
+        service = new SeatReservationService(null, matchStatusRepository, null, null, null,
+                Optional.empty(), metrics, null);
+
+        objectMapper = new ObjectMapper();
+        rejectionResponses = new RejectionResponses(objectMapper);
+
+        tooManySeats = SeatReservationRequest.builder()
+                .matchId(MATCH_ID)
+                .userId(1L)
+                .seatIds(List.of("A-1", "A-2", "A-3"))
+                .build();
+        closedMatch = SeatReservationRequest.builder()
+                .matchId(MATCH_ID)
+                .userId(1L)
+                .seatIds(List.of("A-1", "A-2"))
+                .build();
+    }
+
+    @Benchmark
+    public HoldResult invalidSeatCount() {
+        return service.reserveSeats(tooManySeats);
+    }
+
+    @Benchmark
+    public HoldResult closedMatch() {
+        return service.reserveSeats(closedMatch);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> cachedRejectionBody() {
+        return rejectionResponses.hold(ErrorCode.MATCH_NOT_OPEN);
+    }
+
+    @Benchmark
+    public byte[] serializedRejectionBody() throws Exception {
+        return objectMapper.writeValueAsBytes(SeatReservationResponse.builder()
+                .success(false)
+                .errorCode(ErrorCode.MATCH_NOT_OPEN.name())
+                .build());
+    }
+}
@@ -0,0 +1,48 @@
+package com.ticketing.seat.service;
+
+import com.ticketing.seat.dto.SeatReservationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 선점 응답 DTO 구성 비용 (성공/실패)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReservationResponseBenchmark {
+
+    private SeatReservationService service;
+    private List<String> seatIds;
+    private String expiresAt;
+
+    @Setup
+    public void setUp() {
+        SeatMetaService seatMetaService = SeatMetaFixtures.seatMetaService("A:R:2,B:R:2,C:S:3,D:S:3");
+        // 응답 구성에는 SeatMetaService만 쓰인다
+        service = new SeatReservationService(null, null, null, seatMetaService, null, Optional.empty(), null, null);
+
+        seatIds = List.of("A-12", "A-13");
+        expiresAt = Instant.now().plusSeconds(300).toString();
+    }
+
+    @Benchmark
+    public SeatReservationResponse buildSuccessResponse() {
+        return service.buildSuccessResponse(42L, seatIds, expiresAt);
+    }
+
+    @Benchmark
+    public SeatReservationResponse buildFailureResponse() {
+        return service.buildFailureResponse(42L, seatIds);
+    }
+}
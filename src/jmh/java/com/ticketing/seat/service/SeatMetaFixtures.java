@@ -0,0 +1,39 @@
+package com.ticketing.seat.service;
+
+import com.ticketing.seat.cache.MatchMeta;
+import com.ticketing.seat.cache.MatchMetaCache;
+import com.ticketing.seat.entity.Match;
+import com.ticketing.seat.layout.HallLayoutCatalog;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 벤치마크용 SeatMetaService (DB 없이 모든 매치를 ROOM_ID 룸으로 본다)
+ */
+public final class SeatMetaFixtures {
+
+    public static final long ROOM_ID = 1L;
+
+    private SeatMetaFixtures() {
+    }
+
+    /**
+     * @param sections ticketing.hall.rooms.{roomId}.sections 형식 ("VIP:VIP:1,A:R:2,...")
+     */
+    public static SeatMetaService seatMetaService(String sections) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getSystemProperties().put("ticketing.hall.rooms." + ROOM_ID + ".sections", sections);
+        HallLayoutCatalog catalog = new HallLayoutCatalog(environment, "A,B,C,D", 100, 20, List.of(ROOM_ID));
+
+        Optional<MatchMeta> meta = Optional.of(new MatchMeta(42L, ROOM_ID, Match.MatchStatus.PLAYING, 400, 300, null));
+        MatchMetaCache matchMetaCache = new MatchMetaCache(null, 1, 1) {
+            @Override
+            public Optional<MatchMeta> find(Long matchId) {
+                return meta;
+            }
+        };
+        return new SeatMetaService(catalog, matchMetaCache);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ticketing.seat.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 좌석 메타 조회 비용 (선점/확정 응답마다 좌석당 1회 호출)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SeatMetaServiceBenchmark {
+
+    @Param({"A-12", "VIP-100"})
+    public String seatId;
+
+    private SeatMetaService seatMetaService;
+
+    @Setup
+    public void setUp() {
+        seatMetaService = SeatMetaFixtures.seatMetaService("A:R:2,B:R:2,C:S:3,D:S:3,VIP:VIP:1");
+    }
+
+    @Benchmark
+    public SeatMetaService.SeatMeta resolve() {
+        return seatMetaService.resolve(42L, seatId);
+    }
+
+    @Benchmark
+    public int seatIndex() {
+        return seatMetaService.layoutOf(42L).indexOf(seatId);
+    }
+}
@@ -1,21 +1,33 @@
 package com.ticketing.config;
 
+import com.ticketing.seat.event.SeatEventDeserializer;
+import com.ticketing.seat.event.SeatEventSerializer;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.ExponentialBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 @Configuration
 public class KafkaConfig {
@@ -23,6 +35,42 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    // 메타데이터 대기/버퍼 부족 시 send()가 요청 스레드를 막는 최대 시간
+    // (기본 60초는 가상 스레드 모드에서 Metadata 모니터 대기로 캐리어 스레드를 오래 고정시킨다)
+    @Value("${ticketing.kafka.producer.max-block-ms:5000}")
+    private long producerMaxBlockMs;
+
+    // 값 인코딩: json(기존) | binary(SeatEventCodec)
+    // 컨슈머는 두 형식을 모두 읽으므로, 모든 노드가 배포된 뒤 binary로 바꾼다
+    @Value("${ticketing.kafka.producer.encoding:json}")
+    private String producerEncoding;
+
+    // 프로듀서 프로파일: throughput(배치 + 압축 + 멱등 전송) | default(클라이언트 기본값)
+    @Value("${ticketing.kafka.producer.profile:throughput}")
+    private String producerProfile;
+
+    @Value("${ticketing.kafka.producer.batch-size:65536}")
+    private int producerBatchSize;
+
+    @Value("${ticketing.kafka.producer.linger-ms:10}")
+    private int producerLingerMs;
+
+    @Value("${ticketing.kafka.producer.compression:lz4}")
+    private String producerCompression;
+
+    @Value("${spring.kafka.consumer.group-id:ticketing-service}")
+    private String consumerGroupId;
+
+    @Value("${spring.kafka.consumer.auto-offset-reset:latest}")
+    private String consumerAutoOffsetReset;
+
+    // 배치 리스너 한 번에 받는 최대 레코드 수 (= MongoDB 벌크 저장 1회 크기)
+    @Value("${ticketing.stats-consumer.max-poll-records:500}")
+    private int statsMaxPollRecords;
+
+    @Value("${spring.kafka.listener.auto-startup:true}")
+    private boolean listenerAutoStartup;
+
     @Bean
     public KafkaAdmin kafkaAdmin() {
         Map<String, Object> configs = new HashMap<>();
@@ -35,10 +83,60 @@ public class KafkaConfig {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                "binary".equalsIgnoreCase(producerEncoding) ? SeatEventSerializer.class : JsonSerializer.class);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, producerMaxBlockMs);
+
+        if ("throughput".equalsIgnoreCase(producerProfile)) {
+            // 오픈 순간 몰리는 이벤트를 큰 배치로 묶어 압축하고, 재시도해도 중복/순서 뒤바뀜이 없게 한다
+            configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, producerBatchSize);
+            configProps.put(ProducerConfig.LINGER_MS_CONFIG, producerLingerMs);
+            configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, producerCompression);
+            configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+            configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+            configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        }
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
+    // 바이너리/JSON 겸용 역직렬화. 읽을 수 없는 메시지는 ErrorHandlingDeserializer가 잡아 에러 핸들러로 넘긴다
+    @Bean
+    public ConsumerFactory<String, Object> consumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroupId);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, consumerAutoOffsetReset);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, SeatEventDeserializer.class);
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    /**
+     * 배치 리스너용 컨테이너 (StatisticsBatchEventConsumer)
+     * 리스너가 정상 리턴했을 때만 배치 전체의 오프셋을 커밋한다.
+     * 예외가 나면 오프셋을 커밋하지 않고 같은 배치를 백오프 후 다시 전달한다.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setAutoStartup(listenerAutoStartup);
+
+        Properties consumerProps = new Properties();
+        consumerProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(statsMaxPollRecords));
+        consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerProps);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+
+        ExponentialBackOff backOff = new ExponentialBackOff(500, 2.0);
+        backOff.setMaxInterval(30_000);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        return factory;
+    }
+
     @Bean
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
@@ -0,0 +1,40 @@
+package com.ticketing.config;
+
+import com.ticketing.seat.concurrency.ReservationExecutor;
+import com.ticketing.seat.redis.MatchStatusChangeListener;
+import com.ticketing.seat.redis.MatchStatusRepository;
+import com.ticketing.seat.redis.SeatChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class RedisConfig {
+
+    // 매치 상태 변경 구독 (노드별 near-cache 갱신용) + 좌석 변경 구독 (SSE 전달용)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            MatchStatusChangeListener matchStatusChangeListener,
+            SeatChangeListener seatChangeListener,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+
+        // 직접 만든 컨테이너라 Boot의 가상 스레드 설정이 자동으로 적용되지 않는다
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("redis-listener-");
+            executor.setVirtualThreads(true);
+            container.setTaskExecutor(executor);
+        }
+        container.addMessageListener(matchStatusChangeListener,
+                new ChannelTopic(MatchStatusRepository.STATUS_CHANNEL));
+        container.addMessageListener(seatChangeListener,
+                new ChannelTopic(ReservationExecutor.SEAT_CHANGE_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ticketing.seat.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Caffeine AsyncCache 로더 실행기와 결과 대기 헬퍼.
+ *
+ * cache.get(key, loader)는 ConcurrentHashMap.compute(synchronized) 안에서 로더를 실행해
+ * 가상 스레드가 I/O 동안 캐리어 스레드에 고정(pinning)된다.
+ * AsyncCache는 맵 락 안에서 future만 넣고 로더는 이 실행기(가상 스레드)에서 돌리므로,
+ * 락 밖에서 로딩하면서도 같은 키의 동시 요청은 로딩 하나를 함께 기다린다. (single-flight)
+ * invalidate/put으로 교체된 항목에는 진행 중이던 로딩 결과가 다시 들어가지 않는다.
+ */
+public final class AsyncLoads {
+
+    /**
+     * 캐시 로더 실행기 (작업마다 가상 스레드, 종료 처리가 필요 없다)
+     */
+    public static final ExecutorService LOADER = Executors.newVirtualThreadPerTaskExecutor();
+
+    private AsyncLoads() {
+    }
+
+    /**
+     * 로딩 결과를 기다린다. 로더 예외는 CompletionException을 벗겨 그대로 던진다.
+     */
+    public static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
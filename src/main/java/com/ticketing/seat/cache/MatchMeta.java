@@ -0,0 +1,38 @@
+package com.ticketing.seat.cache;
+
+import com.ticketing.seat.entity.Match;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 선점/확정 경로에서 필요한 매치 정보의 불변 스냅샷.
+ * 경기 진행 중에는 바뀌지 않는 필드만 담는다.
+ */
+@Getter
+@AllArgsConstructor
+public class MatchMeta {
+
+    private final Long matchId;
+    private final Long roomId;
+    private final Match.MatchStatus status;
+    private final Integer maxUser;
+    private final Integer timeLimitSeconds;
+    private final LocalDateTime startedAt;
+
+    public static MatchMeta from(Match match) {
+        return new MatchMeta(
+                match.getMatchId(),
+                match.getRoomId(),
+                match.getStatus(),
+                match.getMaxUser(),
+                match.getTimeLimitSeconds(),
+                match.getStartedAt()
+        );
+    }
+
+    public boolean isPlaying() {
+        return status == Match.MatchStatus.PLAYING;
+    }
+}
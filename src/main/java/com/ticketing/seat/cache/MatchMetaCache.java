@@ -0,0 +1,67 @@
+package com.ticketing.seat.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketing.seat.repository.MatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 매치 메타데이터 read-through 캐시.
+ * - 캐시 미스일 때만 MySQL을 조회하고, 조회 트랜잭션은 findById 한 번으로 끝난다.
+ * - 크기 상한과 TTL을 두어 다른 서버에서 바뀐 값도 일정 시간 내에 반영된다.
+ * - 상태가 바뀌는 시점(MatchStatusSyncService 등)에서는 invalidate로 즉시 제거한다.
+ * - 로딩은 AsyncLoads.LOADER(가상 스레드)에서 키마다 한 번만 한다. 만료/무효화 직후 몰린 요청도 DB 조회 하나를 기다린다.
+ * - TTL 절반이 지난 항목은 다음 조회 때 백그라운드로 다시 읽는다. (자주 쓰이는 매치는 만료로 비지 않음)
+ *
+ * 존재하지 않는 매치는 캐싱하지 않는다.
+ */
+@Slf4j
+@Component
+public class MatchMetaCache {
+
+    private final MatchRepository matchRepository;
+    private final AsyncLoadingCache<Long, MatchMeta> cache;
+
+    public MatchMetaCache(MatchRepository matchRepository,
+                          @Value("${ticketing.match-cache.max-size:10000}") long maxSize,
+                          @Value("${ticketing.match-cache.ttl-seconds:5}") long ttlSeconds) {
+        this.matchRepository = matchRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .refreshAfterWrite(Duration.ofMillis(Math.max(1, ttlSeconds * 1000 / 2)))
+                .executor(AsyncLoads.LOADER)
+                .buildAsync(this::load);
+    }
+
+    /**
+     * 캐시에서 매치 메타데이터 조회 (없으면 DB에서 로딩)
+     */
+    public Optional<MatchMeta> find(Long matchId) {
+        // 로더가 null을 돌려주면(없는 매치) 항목이 남지 않는다
+        return Optional.ofNullable(AsyncLoads.join(cache.get(matchId)));
+    }
+
+    /**
+     * 매치 상태 변경 시 호출
+     */
+    public void invalidate(Long matchId) {
+        cache.synchronous().invalidate(matchId);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    private MatchMeta load(Long matchId) {
+        log.debug("Loading match meta from DB: matchId={}", matchId);
+        return matchRepository.findById(matchId)
+                .map(MatchMeta::from)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ticketing.seat.concurrency;
+
+import com.ticketing.seat.redis.RedisKeys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 만료 대기 선점이 있는 매치 목록 (RedisKeys.ACTIVE_HOLDS).
+ *
+ * 전역 키라 매치 키와 슬롯이 다르므로 선점/회수 스크립트 밖에서 관리한다.
+ * - 선점 성공 후 ZADD GT로 매치의 가장 늦은 만료 시각을 기록한다.
+ *   같은 노드에서 이미 등록한 만료 시각보다 registerSlackMillis 이상 늦어질 때만 다시 보낸다.
+ * - 회수 작업은 score가 now - registerSlackMillis 이하일 때만 제거한다.
+ *   그 사이 들어온 선점은 score를 올리므로 제거되지 않고, 등록을 생략한 선점도 그 시점엔 이미 만료되어 있다.
+ */
+@Component
+public class ActiveHoldRegistry {
+
+    /**
+     * KEYS[1] = active holds, ARGV[1] = matchId, ARGV[2] = 제거 기준 시각(ms)
+     */
+    private final DefaultRedisScript<Long> removeIfIdleScript = new DefaultRedisScript<>(
+            """
+            local score = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if score and tonumber(score) <= tonumber(ARGV[2]) then
+                return redis.call('ZREM', KEYS[1], ARGV[1])
+            end
+            return 0
+            """,
+            Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final long registerSlackMillis;
+    private final Map<Long, Long> registered = new ConcurrentHashMap<>();
+
+    public ActiveHoldRegistry(StringRedisTemplate redisTemplate,
+                              @Value("${ticketing.hold.register-slack-ms:1000}") long registerSlackMillis) {
+        this.redisTemplate = redisTemplate;
+        this.registerSlackMillis = registerSlackMillis;
+    }
+
+    /**
+     * 선점 성공 후 호출
+     */
+    public void register(Long matchId, long expiresAtMillis) {
+        Long last = registered.get(matchId);
+        if (last != null && expiresAtMillis <= last + registerSlackMillis) {
+            return;
+        }
+
+        byte[] key = RedisKeys.ACTIVE_HOLDS.getBytes(StandardCharsets.UTF_8);
+        byte[] member = matchId.toString().getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.zSetCommands()
+                .zAdd(key, expiresAtMillis, member, RedisZSetCommands.ZAddArgs.empty().gt()));
+        registered.merge(matchId, expiresAtMillis, Math::max);
+    }
+
+    public Set<String> activeMatchIds() {
+        Set<String> matchIds = redisTemplate.opsForZSet().range(RedisKeys.ACTIVE_HOLDS, 0, -1);
+        return matchIds == null ? Set.of() : matchIds;
+    }
+
+    /**
+     * 매치의 모든 선점이 회수된 뒤 호출. 새 선점이 등록됐으면 남겨둔다.
+     */
+    public boolean removeIfIdle(Long matchId, long nowMillis) {
+        Long removed = redisTemplate.execute(
+                removeIfIdleScript,
+                List.of(RedisKeys.ACTIVE_HOLDS),
+                matchId.toString(),
+                String.valueOf(nowMillis - registerSlackMillis)
+        );
+        if (removed != null && removed > 0) {
+            registered.remove(matchId);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,467 @@
+package com.ticketing.seat.concurrency;
+
+import com.ticketing.seat.layout.HallLayout;
+import com.ticketing.seat.redis.MatchStatusRepository;
+import com.ticketing.seat.redis.RedisKeys;
+import com.ticketing.seat.service.SeatMetaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 매치 단위 비트맵 좌석 저장소.
+ * 좌석 ID를 홀 배치(HallLayout) 기준 연속 인덱스로 바꿔 아래 키에만 기록한다.
+ * (키 이름은 RedisKeys, 모두 {matchId} 해시 태그로 같은 슬롯)
+ *   match:{matchId}:seat_bitmap  - 점유 여부 (좌석당 1bit)
+ *   match:{matchId}:seat_owners  - 인덱스 -> userId 해시
+ *   match:{matchId}:hold_expiry  - 인덱스 -> 만료 시각 ZSET
+ *   match:{matchId}:confirmed_bitmap - 확정 여부 (좌석당 1bit)
+ *   match:{matchId}:section_inventory - 구역별 잔여/판매 수 (LuaReservationExecutor와 같은 필드)
+ *
+ * 좌석마다 문자열 키를 만드는 방식보다 키 수가 매치당 고정되어
+ * 키별 오버헤드가 없고, 매치 정리도 DEL 몇 번이면 끝난다.
+ *
+ * 선점 규칙(all-or-nothing, 카운트 증가, 만석 시 CLOSED + sold_out, 만료 회수 후 다시 OPEN)은 LuaReservationExecutor와 같다.
+ * 배치에 없는 좌석이 하나라도 있으면 아무것도 쓰지 않고 실패한다.
+ * 좌석 변경 알림에는 좌석 ID 대신 인덱스를 싣고, 구독 측에서 seatIdOf로 되돌린다.
+ * 스크립트는 구역 좌석 수와 구역 목록(HallLayout.sectionList)을 받아 인덱스에서 구역을 계산한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ticketing.seat-store.layout", havingValue = "bitmap")
+public class BitmapReservationExecutor implements ReservationExecutor {
+
+    private final StringRedisTemplate redisTemplate;
+    private final SeatMetaService seatMetaService;
+    private final ActiveHoldRegistry activeHoldRegistry;
+
+    // 같은 사용자가 이 시간 안에 선점한 좌석을 다시 선점하면 성공으로 본다 (LuaReservationExecutor 참고)
+    @Value("${ticketing.hold.rehold-window-ms:10000}")
+    private long reholdWindowMillis;
+
+    /**
+     * KEYS[1] = seat_bitmap, KEYS[2] = seat_owners, KEYS[3] = reserved_count, KEYS[4] = status,
+     * KEYS[5] = hold_expiry, KEYS[6] = section_inventory, KEYS[7] = sold_out
+     * ARGV[1] = userId, ARGV[2] = totalSeats, ARGV[3] = 상태 변경 채널, ARGV[4] = matchId,
+     * ARGV[5] = now(ms), ARGV[6] = expiresAt(ms), ARGV[7] = 좌석 변경 채널,
+     * ARGV[8] = 구역 좌석 수, ARGV[9] = 구역 목록(쉼표 구분), ARGV[10..9+n] = 좌석 인덱스,
+     * ARGV[10+n] = 재선점 기준 만료 시각(ms, LuaReservationExecutor 참고)
+     */
+    private final DefaultRedisScript<Long> reserveSeatsLuaScript = new DefaultRedisScript<>(
+            """
+            local totalSeats = tonumber(ARGV[2])
+            local now = tonumber(ARGV[5])
+            local seatCount = #ARGV - 10
+            local lastSeat = 9 + seatCount
+            local reholdFrom = tonumber(ARGV[#ARGV])
+            local reclaimed = {}
+            local mine = {}
+            local deltas = {}
+
+            -- 같은 좌석이 두 번 들어오면 카운트/재고가 어긋나므로 거절한다 (LuaReservationExecutor 참고)
+            local seen = {}
+            for i = 10, lastSeat do
+                if seen[ARGV[i]] then
+                    return -1
+                end
+                seen[ARGV[i]] = true
+            end
+
+            local perSection = tonumber(ARGV[8])
+            local sections = {}
+            for name in string.gmatch(ARGV[9], '[^,]+') do
+                table.insert(sections, name)
+            end
+            local function track(index, delta)
+                local section = sections[math.floor(tonumber(index) / perSection) + 1]
+                deltas[section] = (deltas[section] or 0) + delta
+            end
+            local function applyDeltas()
+                for section, delta in pairs(deltas) do
+                    if delta ~= 0 then
+                        redis.call('HSETNX', KEYS[6], section, ARGV[8])
+                        redis.call('HINCRBY', KEYS[6], section, delta)
+                    end
+                end
+            end
+
+            -- check phase: 모든 좌석 비트가 0인지 확인 (만료된 선점은 회수, 방금 본인이 선점한 좌석은 통과)
+            for i = 10, lastSeat do
+                if redis.call('GETBIT', KEYS[1], ARGV[i]) == 1 then
+                    local expiresAt = redis.call('ZSCORE', KEYS[5], ARGV[i])
+                    if expiresAt and tonumber(expiresAt) <= now then
+                        redis.call('SETBIT', KEYS[1], ARGV[i], 0)
+                        redis.call('HDEL', KEYS[2], ARGV[i])
+                        redis.call('ZREM', KEYS[5], ARGV[i])
+                        table.insert(reclaimed, ARGV[i])
+                        track(ARGV[i], 1)
+                    elseif expiresAt and tonumber(expiresAt) >= reholdFrom
+                            and redis.call('HGET', KEYS[2], ARGV[i]) == ARGV[1] then
+                        mine[i] = true
+                    else
+                        if #reclaimed > 0 then
+                            local count = redis.call('DECRBY', KEYS[3], #reclaimed)
+                            applyDeltas()
+                            redis.call('PUBLISH', ARGV[7], ARGV[4] .. '|RELEASE|' .. ARGV[5] .. '|' .. table.concat(reclaimed, ','))
+                            -- 만석 마감 뒤 빈자리가 생겼으면 다시 연다
+                            local soldOutAt = tonumber(redis.call('GET', KEYS[7]))
+                            if soldOutAt and count < soldOutAt then
+                                redis.call('DEL', KEYS[7])
+                                if redis.call('GET', KEYS[4]) == 'CLOSED' then
+                                    redis.call('SET', KEYS[4], 'OPEN')
+                                    redis.call('PUBLISH', ARGV[3], ARGV[4] .. ':OPEN')
+                                end
+                            end
+                        end
+                        return 0
+                    end
+                end
+            end
+
+            -- assign phase: 비트 세팅 + 소유자 + 만료 시각 기록 (이미 가진 좌석은 건너뜀)
+            local assigned = {}
+            for i = 10, lastSeat do
+                if not mine[i] then
+                    redis.call('SETBIT', KEYS[1], ARGV[i], 1)
+                    redis.call('HSET', KEYS[2], ARGV[i], ARGV[1])
+                    redis.call('ZADD', KEYS[5], ARGV[6], ARGV[i])
+                    track(ARGV[i], -1)
+                    table.insert(assigned, ARGV[i])
+                end
+            end
+            if #assigned == 0 then
+                return 1
+            end
+            applyDeltas()
+            redis.call('PUBLISH', ARGV[7], ARGV[4] .. '|HOLD|' .. ARGV[5] .. '|' .. table.concat(assigned, ','))
+
+            local newCount = redis.call('INCRBY', KEYS[3], #assigned - #reclaimed)
+
+            if newCount >= totalSeats and redis.call('GET', KEYS[4]) ~= 'CLOSED' then
+                redis.call('SET', KEYS[4], 'CLOSED')
+                redis.call('SET', KEYS[7], totalSeats)
+                redis.call('PUBLISH', ARGV[3], ARGV[4] .. ':CLOSED')
+            end
+
+            return 1
+            """,
+            Long.class
+    );
+
+    /**
+     * KEYS[1] = seat_owners, KEYS[2] = hold_expiry, KEYS[3] = confirmed_bitmap, KEYS[4] = section_inventory
+     * ARGV[1] = userId, ARGV[2] = now(ms), ARGV[3] = 좌석 변경 채널, ARGV[4] = matchId,
+     * ARGV[5] = 구역 좌석 수, ARGV[6] = 구역 목록(쉼표 구분), ARGV[7..] = 좌석 인덱스
+     * 리턴: 실패한 좌석의 [위치, 사유] 목록 (비어 있으면 전체 확정)
+     */
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> confirmSeatsLuaScript = new DefaultRedisScript<>(
+            """
+            local now = tonumber(ARGV[2])
+            local failures = {}
+
+            -- check phase: 소유자, 확정 여부, 만료 여부 확인
+            for i = 7, #ARGV do
+                local owner = redis.call('HGET', KEYS[1], ARGV[i])
+                local reason = nil
+                if not owner then
+                    reason = 'NOT_HELD'
+                elseif owner ~= ARGV[1] then
+                    reason = 'HELD_BY_OTHER'
+                elseif redis.call('GETBIT', KEYS[3], ARGV[i]) == 1 then
+                    reason = 'ALREADY_CONFIRMED'
+                else
+                    local expiresAt = redis.call('ZSCORE', KEYS[2], ARGV[i])
+                    if expiresAt and tonumber(expiresAt) <= now then
+                        reason = 'EXPIRED'
+                    end
+                end
+                if reason then
+                    table.insert(failures, tostring(i - 6))
+                    table.insert(failures, reason)
+                end
+            end
+
+            if #failures > 0 then
+                return failures
+            end
+
+            -- confirm phase: 확정 비트 세팅 + 만료 회수 대상에서 제외 + 구역 판매 수 증가
+            local perSection = tonumber(ARGV[5])
+            local sections = {}
+            for name in string.gmatch(ARGV[6], '[^,]+') do
+                table.insert(sections, name)
+            end
+            -- 같은 좌석이 두 번 오면 한 번만 센다
+            local seen = {}
+            local confirmed = {}
+            for i = 7, #ARGV do
+                if not seen[ARGV[i]] then
+                    seen[ARGV[i]] = true
+                    table.insert(confirmed, ARGV[i])
+                    redis.call('SETBIT', KEYS[3], ARGV[i], 1)
+                    redis.call('ZREM', KEYS[2], ARGV[i])
+                    local section = sections[math.floor(tonumber(ARGV[i]) / perSection) + 1]
+                    redis.call('HINCRBY', KEYS[4], section .. ':sold', 1)
+                end
+            end
+            redis.call('PUBLISH', ARGV[3], ARGV[4] .. '|CONFIRM|' .. ARGV[2] .. '|' .. table.concat(confirmed, ','))
+
+            return failures
+            """,
+            List.class
+    );
+
+    /**
+     * KEYS[1] = hold_expiry, KEYS[2] = reserved_count, KEYS[3] = seat_bitmap, KEYS[4] = seat_owners,
+     * KEYS[5] = section_inventory, KEYS[6] = status, KEYS[7] = sold_out
+     * ARGV[1] = now(ms), ARGV[2] = limit, ARGV[3] = matchId, ARGV[4] = 좌석 변경 채널,
+     * ARGV[5] = 구역 좌석 수, ARGV[6] = 구역 목록(쉼표 구분), ARGV[7] = 상태 변경 채널
+     */
+    private final DefaultRedisScript<Long> reclaimExpiredLuaScript = new DefaultRedisScript<>(
+            """
+            local expired = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+            local perSection = tonumber(ARGV[5])
+            local sections = {}
+            for name in string.gmatch(ARGV[6], '[^,]+') do
+                table.insert(sections, name)
+            end
+            local deltas = {}
+            for _, index in ipairs(expired) do
+                redis.call('SETBIT', KEYS[3], index, 0)
+                redis.call('HDEL', KEYS[4], index)
+                redis.call('ZREM', KEYS[1], index)
+                local section = sections[math.floor(tonumber(index) / perSection) + 1]
+                deltas[section] = (deltas[section] or 0) + 1
+            end
+
+            if #expired > 0 then
+                local count = redis.call('DECRBY', KEYS[2], #expired)
+                for section, delta in pairs(deltas) do
+                    redis.call('HSETNX', KEYS[5], section, ARGV[5])
+                    redis.call('HINCRBY', KEYS[5], section, delta)
+                end
+                redis.call('PUBLISH', ARGV[4], ARGV[3] .. '|RELEASE|' .. ARGV[1] .. '|' .. table.concat(expired, ','))
+
+                -- 만석 마감 뒤 빈자리가 생겼으면 다시 연다 (수동 마감은 sold_out이 없어 그대로 둔다)
+                local soldOutAt = tonumber(redis.call('GET', KEYS[7]))
+                if soldOutAt and count < soldOutAt then
+                    redis.call('DEL', KEYS[7])
+                    if redis.call('GET', KEYS[6]) == 'CLOSED' then
+                        redis.call('SET', KEYS[6], 'OPEN')
+                        redis.call('PUBLISH', ARGV[7], ARGV[3] .. ':OPEN')
+                    end
+                end
+            end
+
+            return #expired
+            """,
+            Long.class
+    );
+
+    @Override
+    public boolean tryReserveSeatsAtomically(Long matchId,
+                                             List<String> seatIds,
+                                             Long userId,
+                                             int totalSeats,
+                                             long nowMillis,
+                                             long expiresAtMillis) {
+        ScriptCall call = prepareHold(new HoldRequest(matchId, seatIds, userId, totalSeats, nowMillis, expiresAtMillis));
+        if (call == null) {
+            return false;
+        }
+
+        Long result = redisTemplate.execute(reserveSeatsLuaScript, call.keys(), call.args());
+
+        boolean ok = result != null && result == 1L;
+        if (ok) {
+            activeHoldRegistry.register(matchId, expiresAtMillis);
+        }
+        return ok;
+    }
+
+    @Override
+    public List<CompletableFuture<Boolean>> tryReserveAllPipelined(List<HoldRequest> holds) {
+        // 배치에 없는 좌석이 포함된 요청은 Redis로 보내지 않고 바로 실패 처리
+        List<ScriptCall> calls = new ArrayList<>(holds.size());
+        List<Integer> positions = new ArrayList<>(holds.size());
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(holds.size());
+        for (int i = 0; i < holds.size(); i++) {
+            ScriptCall call = prepareHold(holds.get(i));
+            futures.add(call == null ? CompletableFuture.completedFuture(false) : null);
+            if (call != null) {
+                calls.add(call);
+                positions.add(i);
+            }
+        }
+        if (calls.isEmpty()) {
+            return futures;
+        }
+
+        List<Object> results = PipelinedScripts.evalAll(redisTemplate, reserveSeatsLuaScript, calls);
+        for (int i = 0; i < results.size(); i++) {
+            Object result = results.get(i);
+            HoldRequest hold = holds.get(positions.get(i));
+            if (result instanceof Throwable t) {
+                futures.set(positions.get(i), CompletableFuture.failedFuture(t));
+                continue;
+            }
+            boolean ok = Long.valueOf(1L).equals(result);
+            if (ok) {
+                activeHoldRegistry.register(hold.getMatchId(), hold.getExpiresAtMillis());
+            }
+            futures.set(positions.get(i), CompletableFuture.completedFuture(ok));
+        }
+        return futures;
+    }
+
+    /**
+     * @return 스크립트 호출, 배치에 없는 좌석이 있으면 null
+     */
+    private ScriptCall prepareHold(HoldRequest hold) {
+        Long matchId = hold.getMatchId();
+        List<String> seatIds = hold.getSeatIds();
+        HallLayout layout = seatMetaService.layoutOf(matchId);
+
+        Object[] args = new Object[10 + seatIds.size()];
+        args[0] = hold.getUserId().toString();
+        args[1] = String.valueOf(hold.getTotalSeats());
+        args[2] = MatchStatusRepository.STATUS_CHANNEL;
+        args[3] = matchId.toString();
+        args[4] = String.valueOf(hold.getNowMillis());
+        args[5] = String.valueOf(hold.getExpiresAtMillis());
+        args[6] = SEAT_CHANGE_CHANNEL;
+        args[7] = String.valueOf(layout.seatsPerSection());
+        args[8] = layout.sectionList();
+        for (int i = 0; i < seatIds.size(); i++) {
+            int index = layout.indexOf(seatIds.get(i));
+            if (index < 0) {
+                return null;
+            }
+            args[9 + i] = String.valueOf(index);
+        }
+        args[9 + seatIds.size()] = String.valueOf(hold.getExpiresAtMillis() - reholdWindowMillis);
+
+        return new ScriptCall(
+                List.of(RedisKeys.seatBitmap(matchId), RedisKeys.seatOwners(matchId),
+                        RedisKeys.reservedCount(matchId),
+                        RedisKeys.status(matchId),
+                        RedisKeys.holdExpiry(matchId),
+                        RedisKeys.sectionInventory(matchId),
+                        RedisKeys.soldOut(matchId)),
+                args
+        );
+    }
+
+    @Override
+    public Optional<Long> findOwner(Long matchId, String seatId) {
+        int index = seatMetaService.layoutOf(matchId).indexOf(seatId);
+        if (index < 0) return Optional.empty();
+
+        Object val = redisTemplate.opsForHash().get(RedisKeys.seatOwners(matchId), String.valueOf(index));
+        if (val == null) return Optional.empty();
+        return Optional.of(Long.valueOf(val.toString()));
+    }
+
+    @Override
+    public Map<String, ConfirmFailureReason> confirmSeatsAtomically(Long matchId,
+                                                                    List<String> seatIds,
+                                                                    Long userId,
+                                                                    long nowMillis) {
+        HallLayout layout = seatMetaService.layoutOf(matchId);
+
+        Map<String, ConfirmFailureReason> unknown = new LinkedHashMap<>();
+        Object[] args = new Object[6 + seatIds.size()];
+        args[0] = userId.toString();
+        args[1] = String.valueOf(nowMillis);
+        args[2] = SEAT_CHANGE_CHANNEL;
+        args[3] = matchId.toString();
+        args[4] = String.valueOf(layout.seatsPerSection());
+        args[5] = layout.sectionList();
+        for (int i = 0; i < seatIds.size(); i++) {
+            int index = layout.indexOf(seatIds.get(i));
+            if (index < 0) {
+                unknown.put(seatIds.get(i), ConfirmFailureReason.UNKNOWN_SEAT);
+            }
+            args[6 + i] = String.valueOf(index);
+        }
+        if (!unknown.isEmpty()) {
+            return unknown;
+        }
+
+        List<?> result = redisTemplate.execute(
+                confirmSeatsLuaScript,
+                List.of(RedisKeys.seatOwners(matchId), RedisKeys.holdExpiry(matchId), RedisKeys.confirmedBitmap(matchId),
+                        RedisKeys.sectionInventory(matchId)),
+                args
+        );
+        return ConfirmScriptResults.toFailures(seatIds, result);
+    }
+
+    @Override
+    public int reclaimExpiredHolds(Long matchId, long nowMillis, int limit) {
+        HallLayout layout = seatMetaService.layoutOf(matchId);
+        Long reclaimed = redisTemplate.execute(
+                reclaimExpiredLuaScript,
+                List.of(RedisKeys.holdExpiry(matchId), RedisKeys.reservedCount(matchId),
+                        RedisKeys.seatBitmap(matchId), RedisKeys.seatOwners(matchId),
+                        RedisKeys.sectionInventory(matchId), RedisKeys.status(matchId), RedisKeys.soldOut(matchId)),
+                String.valueOf(nowMillis),
+                String.valueOf(limit),
+                matchId.toString(),
+                SEAT_CHANGE_CHANNEL,
+                String.valueOf(layout.seatsPerSection()),
+                layout.sectionList(),
+                MatchStatusRepository.STATUS_CHANNEL
+        );
+        return reclaimed == null ? 0 : reclaimed.intValue();
+    }
+
+    @Override
+    public SeatOccupancy readOccupancy(Long matchId, long nowMillis) {
+        HallLayout layout = seatMetaService.layoutOf(matchId);
+
+        // 만료 시각이 지난 선점은 다음 선점 시도에서 회수되므로 빈 좌석으로 본다
+        Set<String> heldIndexes = redisTemplate.opsForZSet()
+                .rangeByScore(RedisKeys.holdExpiry(matchId), nowMillis + 1, Double.POSITIVE_INFINITY);
+        List<String> held = new ArrayList<>();
+        if (heldIndexes != null) {
+            for (String index : heldIndexes) {
+                held.add(layout.seatIdAt(Integer.parseInt(index)));
+            }
+        }
+
+        // 확정 비트맵은 바이트 그대로 읽는다 (비트 0 = 첫 바이트의 최상위 비트)
+        byte[] key = RedisKeys.confirmedBitmap(matchId).getBytes(StandardCharsets.UTF_8);
+        byte[] bitmap = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(key));
+        List<String> confirmed = new ArrayList<>();
+        if (bitmap != null) {
+            int limit = Math.min(bitmap.length * 8, layout.capacity());
+            for (int index = 0; index < limit; index++) {
+                if ((bitmap[index >> 3] & (0x80 >>> (index & 7))) != 0) {
+                    confirmed.add(layout.seatIdAt(index));
+                }
+            }
+        }
+        return new SeatOccupancy(held, confirmed);
+    }
+
+    @Override
+    public String seatIdOf(Long matchId, String token) {
+        return seatMetaService.layoutOf(matchId).seatIdAt(Integer.parseInt(token));
+    }
+}
@@ -0,0 +1,12 @@
+package com.ticketing.seat.concurrency;
+
+/**
+ * 좌석 확정 스크립트가 돌려주는 좌석별 실패 사유
+ */
+public enum ConfirmFailureReason {
+    NOT_HELD,           // 선점되지 않은 좌석
+    HELD_BY_OTHER,      // 다른 사용자가 선점한 좌석
+    ALREADY_CONFIRMED,  // 이미 확정된 좌석
+    EXPIRED,            // 선점 유지 시간이 지난 좌석
+    UNKNOWN_SEAT        // 홀 배치에 없는 좌석
+}
@@ -0,0 +1,29 @@
+package com.ticketing.seat.concurrency;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 확정 스크립트 결과 변환.
+ * 스크립트는 실패한 좌석마다 [요청 내 위치(1부터), 사유] 쌍을 평탄화해서 돌려준다.
+ */
+final class ConfirmScriptResults {
+
+    private ConfirmScriptResults() {
+    }
+
+    static Map<String, ConfirmFailureReason> toFailures(List<String> seatIds, List<?> result) {
+        if (result == null || result.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, ConfirmFailureReason> failures = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < result.size(); i += 2) {
+            int position = Integer.parseInt(result.get(i).toString());
+            failures.put(seatIds.get(position - 1), ConfirmFailureReason.valueOf(result.get(i + 1).toString()));
+        }
+        return failures;
+    }
+}
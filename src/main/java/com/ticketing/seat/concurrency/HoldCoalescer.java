@@ -0,0 +1,218 @@
+package com.ticketing.seat.concurrency;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 같은 매치의 선점 요청을 짧은 시간 동안 모아 한 번의 파이프라인으로 Redis에 보낸다.
+ *
+ * - 매치별 대기열에 요청을 쌓고, windowMicros가 지나거나 maxBatchSize에 도달하면 전송한다.
+ * - 요청마다 선점 스크립트를 따로 실행하므로 요청 단위 all-or-nothing은 그대로다.
+ *   (같은 배치 안에서 좌석이 겹치면 먼저 들어온 요청이 이긴다)
+ * - 각 호출자는 자기 요청의 future만 기다린다.
+ *
+ * ticketing.hold-coalescer.enabled=true 일 때만 동작한다.
+ * flusher 스레드는 타이머 역할만 하고, Redis 전송은 별도 sender에서 한다.
+ * (가상 스레드 모드(spring.threads.virtual.enabled=true)면 가상 스레드, 아니면 send-threads 크기의 풀)
+ * 느린 파이프라인이 타이머를 붙잡아 다른 매치의 전송 창이 밀리지 않게 하기 위함이다.
+ *
+ * - 각 요청 future는 timeout-ms 안에 끝나지 않으면 TimeoutException으로 완료된다. (호출 스레드가 무한히 기다리지 않음)
+ *   이때 Redis에는 선점이 들어갔을 수 있다. 서비스는 재시도 가능한 HOLD_TIMEOUT(503)으로 응답하고,
+ *   같은 사용자가 ticketing.hold.rehold-window-ms 안에 같은 좌석을 다시 선점하면 그 선점을 이어받아 성공한다.
+ *   재시도하지 않으면 TTL 후 회수된다.
+ * - 종료 중이라 전송/타이머 작업이 거절되면 대기 중인 요청을 예외로 완료한다.
+ * - 한동안 쓰이지 않은 매치 대기열은 주기적으로 지운다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ticketing.hold-coalescer.enabled", havingValue = "true")
+public class HoldCoalescer {
+
+    private final ReservationExecutor reservationExecutor;
+    private final long windowMicros;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService flusher;
+    private final ExecutorService sender;
+    private final ConcurrentHashMap<Long, MatchQueue> queues = new ConcurrentHashMap<>();
+
+    public HoldCoalescer(ReservationExecutor reservationExecutor,
+                         @Value("${ticketing.hold-coalescer.window-micros:500}") long windowMicros,
+                         @Value("${ticketing.hold-coalescer.max-batch-size:64}") int maxBatchSize,
+                         @Value("${ticketing.hold-coalescer.flush-threads:2}") int flushThreads,
+                         @Value("${ticketing.hold-coalescer.send-threads:16}") int sendThreads,
+                         @Value("${ticketing.hold-coalescer.timeout-ms:2000}") long timeoutMillis,
+                         @Value("${ticketing.hold-coalescer.prune-interval-ms:60000}") long pruneIntervalMillis,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.reservationExecutor = reservationExecutor;
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.flusher = Executors.newScheduledThreadPool(flushThreads, r -> {
+            Thread t = new Thread(r, "hold-coalescer-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger senderSeq = new AtomicInteger();
+        this.sender = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(sendThreads, r -> {
+                    Thread t = new Thread(r, "hold-coalescer-send-" + senderSeq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        flusher.scheduleWithFixedDelay(this::prune, pruneIntervalMillis, pruneIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 선점 요청 등록. 배치가 전송되고 결과가 나오면 future가 완료된다.
+     */
+    public CompletableFuture<Boolean> submit(HoldRequest hold) {
+        PendingHold pending = new PendingHold(hold);
+        MatchQueue queue = queues.computeIfAbsent(hold.getMatchId(), id -> new MatchQueue());
+
+        List<PendingHold> ready = null;
+        boolean scheduleFlush = false;
+
+        queue.lock.lock();
+        try {
+            queue.holds.add(pending);
+            if (queue.holds.size() >= maxBatchSize) {
+                ready = queue.drain();
+            } else if (!queue.flushScheduled) {
+                queue.flushScheduled = true;
+                scheduleFlush = true;
+            }
+        } finally {
+            queue.lock.unlock();
+        }
+
+        if (ready != null) {
+            dispatch(ready);
+        }
+        if (scheduleFlush) {
+            try {
+                flusher.schedule(() -> flush(queue), windowMicros, TimeUnit.MICROSECONDS);
+            } catch (RejectedExecutionException e) {
+                // 종료 중: 타이머가 없으니 지금 보낸다 (sender도 닫혔으면 dispatch가 실패로 완료한다)
+                flush(queue);
+            }
+        }
+
+        return pending.future.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush(MatchQueue queue) {
+        List<PendingHold> ready;
+        queue.lock.lock();
+        try {
+            ready = queue.drain();
+            queue.flushScheduled = false;
+        } finally {
+            queue.lock.unlock();
+        }
+
+        if (!ready.isEmpty()) {
+            dispatch(ready);
+        }
+    }
+
+    private void dispatch(List<PendingHold> batch) {
+        try {
+            sender.execute(() -> send(batch));
+        } catch (RejectedExecutionException e) {
+            log.warn("Hold coalescer is shutting down, failing {} holds", batch.size());
+            for (PendingHold pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * 비어 있고 전송 예약도 없는 매치 대기열을 지운다.
+     * 지우기 직전에 대기열을 얻은 submit은 그 대기열 객체에 전송을 예약하므로 요청이 빠지지 않는다.
+     */
+    private void prune() {
+        queues.forEach((matchId, queue) -> {
+            queue.lock.lock();
+            try {
+                if (queue.holds.isEmpty() && !queue.flushScheduled) {
+                    queues.remove(matchId, queue);
+                }
+            } finally {
+                queue.lock.unlock();
+            }
+        });
+    }
+
+    private void send(List<PendingHold> batch) {
+        try {
+            List<HoldRequest> holds = new ArrayList<>(batch.size());
+            for (PendingHold pending : batch) {
+                holds.add(pending.hold);
+            }
+
+            List<CompletableFuture<Boolean>> results = reservationExecutor.tryReserveAllPipelined(holds);
+            for (int i = 0; i < batch.size(); i++) {
+                CompletableFuture<Boolean> target = batch.get(i).future;
+                results.get(i).whenComplete((ok, ex) -> {
+                    if (ex != null) {
+                        target.completeExceptionally(ex);
+                    } else {
+                        target.complete(ok);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            log.error("Failed to send coalesced holds: size={}, error={}", batch.size(), e.getMessage(), e);
+            for (PendingHold pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queues.values().forEach(this::flush);
+        flusher.shutdown();
+        sender.shutdown();
+    }
+
+    private static final class MatchQueue {
+        private final ReentrantLock lock = new ReentrantLock();
+        private List<PendingHold> holds = new ArrayList<>();
+        private boolean flushScheduled;
+
+        private List<PendingHold> drain() {
+            List<PendingHold> drained = holds;
+            holds = new ArrayList<>();
+            return drained;
+        }
+    }
+
+    private static final class PendingHold {
+        private final HoldRequest hold;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        private PendingHold(HoldRequest hold) {
+            this.hold = hold;
+        }
+    }
+}
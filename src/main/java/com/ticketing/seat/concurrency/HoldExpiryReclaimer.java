@@ -0,0 +1,67 @@
+package com.ticketing.seat.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * 만료된 좌석 선점 회수 작업.
+ *
+ * 키스페이스 전체를 SCAN하지 않고, 선점이 남아있는 매치 목록(ActiveHoldRegistry)과
+ * 매치별 만료 ZSET만 본다. 매치마다 만료된 선점을 batchSize 단위로 회수하므로
+ * 만료 대기 선점이 수십만 건이어도 한 번의 스크립트 실행 시간은 일정하다.
+ *
+ * 회수는 Lua 스크립트 안에서 원자적으로 처리되므로 여러 노드에서 동시에 돌아도 안전하다.
+ * 매치를 다 회수하면 새로 등록된 선점이 없을 때만 목록에서 뺀다.
+ */
+@Slf4j
+@Component
+public class HoldExpiryReclaimer {
+
+    private final ActiveHoldRegistry activeHoldRegistry;
+    private final ReservationExecutor reservationExecutor;
+    private final int batchSize;
+
+    public HoldExpiryReclaimer(ActiveHoldRegistry activeHoldRegistry,
+                               ReservationExecutor reservationExecutor,
+                               @Value("${ticketing.hold.reclaim-batch-size:500}") int batchSize) {
+        this.activeHoldRegistry = activeHoldRegistry;
+        this.reservationExecutor = reservationExecutor;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${ticketing.hold.reclaim-interval-ms:1000}")
+    public void reclaimExpiredHolds() {
+        Set<String> matchIds = activeHoldRegistry.activeMatchIds();
+        if (matchIds.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (String matchId : matchIds) {
+            try {
+                reclaimMatch(Long.valueOf(matchId), now);
+            } catch (Exception e) {
+                log.error("Failed to reclaim expired holds: matchId={}, error={}", matchId, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void reclaimMatch(Long matchId, long now) {
+        int total = 0;
+        int reclaimed;
+        do {
+            reclaimed = reservationExecutor.reclaimExpiredHolds(matchId, now, batchSize);
+            total += reclaimed;
+        } while (reclaimed == batchSize);
+
+        activeHoldRegistry.removeIfIdle(matchId, now);
+
+        if (total > 0) {
+            log.info("Reclaimed expired seat holds: matchId={}, count={}", matchId, total);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ticketing.seat.concurrency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 선점 스크립트 한 번 실행에 필요한 입력
+ */
+@Getter
+@AllArgsConstructor
+public class HoldRequest {
+
+    private final Long matchId;
+    private final List<String> seatIds;
+    private final Long userId;
+    private final int totalSeats;
+    private final long nowMillis;
+    private final long expiresAtMillis;
+}
@@ -1,81 +1,461 @@
 package com.ticketing.seat.concurrency;
 
+import com.ticketing.seat.layout.HallLayout;
+import com.ticketing.seat.redis.MatchStatusRepository;
+import com.ticketing.seat.redis.RedisKeys;
+import com.ticketing.seat.service.SeatMetaService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 /**
  * 여러 좌석을 한 번에 선점(확정) 처리하고, 동시에 카운트를 원자적으로 증가시킨다.
  * - 모든 좌석이 아직 점유되지 않은 경우에만 전체 좌석을 userId로 할당한다.
  * - 하나라도 이미 점유된 좌석이 있다면 아무것도 쓰지 않고 실패(0)로 리턴한다.
- * - 성공 시 match:{matchId}:reserved_count 카운터를 증가시킨다.
+ *   단, 같은 사용자가 rehold-window-ms 안에 선점한 좌석은 이미 가진 것으로 보고 그대로 둔다.
+ *   (코얼레서 타임아웃 뒤 재시도가 앞선 시도의 선점에 막히지 않게 한다. 만료 시각은 늘리지 않는다)
+ * - 성공 시 match:{matchId}:reserved_count 카운터를 증가시킨다. (키 규칙은 RedisKeys)
+ * - 만석이 되면 상태를 CLOSED로 바꾸고 상태 변경 채널로 발행해 각 노드의 near-cache를 갱신한다.
+ *   이때 match:{matchId}:sold_out 에 전체 좌석 수를 기록한다. 선점도 좌석 수에 들어가므로,
+ *   만료 회수로 빈자리가 생기면 회수 스크립트가 다시 OPEN으로 돌리고 발행한다.
+ *   (sold_out이 있는 CLOSED 동안에도 만료되지 않은 선점은 확정할 수 있다. SeatConfirmationService 참고)
+ * - 선점 만료 시각은 match:{matchId}:hold_expiry (ZSET, score = 만료 epoch ms)에 기록한다.
+ *   만료된 선점은 선점 시도 중에 발견되면 그 자리에서 회수하고,
+ *   나머지는 HoldExpiryReclaimer가 주기적으로 회수한다. (회수 시 카운트 감소)
+ *   회수 대상 매치 등록(ActiveHoldRegistry)은 전역 키라 스크립트 밖에서 한다.
+ * - 확정된 좌석은 match:{matchId}:confirmed 집합에 기록하고 만료 ZSET에서 제거한다.
+ * - 좌석 상태가 바뀌면(선점/회수/확정) SEAT_CHANGE_CHANNEL로 변경분을 발행한다.
+ * - 구역별 잔여/판매 수를 match:{matchId}:section_inventory 해시에 같은 스크립트 안에서 갱신한다.
+ *   (필드 "{구역}" = 남은 좌석, "{구역}:sold" = 확정 좌석)
+ *   잔여 필드가 없으면 구역 좌석 수로 HSETNX 한 뒤 증감한다.
+ *   구역은 홀 배치(SeatMetaService)로 Java에서 구해 ARGV로 넘긴다. 배치에 없는 좌석은 스크립트를 부르지 않고 실패시킨다.
+ *   (그렇지 않으면 없는 좌석 ID가 재고 해시에 가짜 구역 필드를 만든다)
  *
  * Redis에서 Lua는 단일 명령처럼 실행되므로 이 작업은 원자적이다.
  *
  * 리턴값:
  *   1 = 전체 성공 (좌석 전부 userId로 할당됨 + 카운트 증가)
  *   0 = 실패 (이미 점유된 좌석 존재, 어떤 것도 할당되지 않음)
+ *  -1 = 잘못된 요청 (같은 좌석이 두 번 포함됨, 어떤 것도 할당되지 않음)
+ *       카운트는 좌석 수만큼, 회수는 ZSET 멤버 수만큼 움직이므로 중복을 받으면 카운트/재고가 영구히 어긋난다.
+ *       서비스에서 먼저 거절하고, 스크립트에서도 한 번 더 막는다.
  */
 @Component
 @RequiredArgsConstructor
-public class LuaReservationExecutor {
+@ConditionalOnProperty(name = "ticketing.seat-store.layout", havingValue = "key", matchIfMissing = true)
+public class LuaReservationExecutor implements ReservationExecutor {
 
     private final StringRedisTemplate redisTemplate;
+    private final ActiveHoldRegistry activeHoldRegistry;
+    private final SeatMetaService seatMetaService;
 
+    // 같은 사용자가 이 시간 안에 선점한 좌석을 다시 선점하면 성공으로 본다 (클래스 설명 참고)
+    @Value("${ticketing.hold.rehold-window-ms:10000}")
+    private long reholdWindowMillis;
+
+    /**
+     * KEYS: seat 키들(n) + reserved_count + status + hold_expiry + section_inventory + sold_out (모두 같은 해시 태그)
+     * ARGV[1] = userId, ARGV[2] = n, ARGV[3] = totalSeats, ARGV[4] = 상태 변경 채널,
+     * ARGV[5] = matchId, ARGV[6] = now(ms), ARGV[7] = expiresAt(ms), ARGV[8] = 좌석 변경 채널,
+     * ARGV[9] = 구역 좌석 수, ARGV[10..9+n] = seatId들, ARGV[10+n..9+2n] = 각 좌석의 구역,
+     * ARGV[10+2n] = 재선점 기준 만료 시각(ms, 이 시각 이후에 만료되는 본인 선점은 이번 요청의 앞선 시도로 본다)
+     */
     private final DefaultRedisScript<Long> reserveSeatsLuaScript = new DefaultRedisScript<>(
             """
             local seatCount = tonumber(ARGV[2])
             local totalSeats = tonumber(ARGV[3])
-            
-            -- check phase: 모든 좌석이 비어있는지 확인
+            local now = tonumber(ARGV[6])
+            local countKey = KEYS[seatCount + 1]
+            local statusKey = KEYS[seatCount + 2]
+            local expiryKey = KEYS[seatCount + 3]
+            local inventoryKey = KEYS[seatCount + 4]
+            local soldOutKey = KEYS[seatCount + 5]
+            local reholdFrom = tonumber(ARGV[10 + 2 * seatCount])
+            local reclaimed = {}
+            local mine = {}
+            local deltas = {}
+
+            local seen = {}
             for i = 1, seatCount do
-                if redis.call('EXISTS', KEYS[i]) == 1 then
-                    return 0
+                if seen[ARGV[9 + i]] then
+                    return -1
                 end
+                seen[ARGV[9 + i]] = true
             end
-    
-            -- assign phase: 모든 좌석을 userId로 할당
+
+            local function track(i, delta)
+                local section = ARGV[9 + seatCount + i]
+                deltas[section] = (deltas[section] or 0) + delta
+            end
+            local function applyDeltas()
+                for section, delta in pairs(deltas) do
+                    if delta ~= 0 then
+                        redis.call('HSETNX', inventoryKey, section, ARGV[9])
+                        redis.call('HINCRBY', inventoryKey, section, delta)
+                    end
+                end
+            end
+
+            -- check phase: 모든 좌석이 비어있는지 확인 (만료된 선점은 회수, 방금 본인이 선점한 좌석은 통과)
             for i = 1, seatCount do
-                redis.call('SET', KEYS[i], ARGV[1])
+                local owner = redis.call('GET', KEYS[i])
+                if owner then
+                    local expiresAt = redis.call('ZSCORE', expiryKey, ARGV[9 + i])
+                    if expiresAt and tonumber(expiresAt) <= now then
+                        redis.call('DEL', KEYS[i])
+                        redis.call('ZREM', expiryKey, ARGV[9 + i])
+                        table.insert(reclaimed, ARGV[9 + i])
+                        track(i, 1)
+                    elseif owner == ARGV[1] and expiresAt and tonumber(expiresAt) >= reholdFrom then
+                        mine[i] = true
+                    else
+                        if #reclaimed > 0 then
+                            local count = redis.call('DECRBY', countKey, #reclaimed)
+                            applyDeltas()
+                            redis.call('PUBLISH', ARGV[8], ARGV[5] .. '|RELEASE|' .. ARGV[6] .. '|' .. table.concat(reclaimed, ','))
+                            -- 만석 마감 뒤 빈자리가 생겼으면 다시 연다
+                            local soldOutAt = tonumber(redis.call('GET', soldOutKey))
+                            if soldOutAt and count < soldOutAt then
+                                redis.call('DEL', soldOutKey)
+                                if redis.call('GET', statusKey) == 'CLOSED' then
+                                    redis.call('SET', statusKey, 'OPEN')
+                                    redis.call('PUBLISH', ARGV[4], ARGV[5] .. ':OPEN')
+                                end
+                            end
+                        end
+                        return 0
+                    end
+                end
             end
-            
-            -- 카운터 증가
-            local newCount = redis.call('INCRBY', KEYS[seatCount + 1], seatCount)
-            
-            -- 만석 체크: 전체 좌석에 도달하면 상태를 CLOSED로 자동 변경
-            if newCount >= totalSeats then
-                redis.call('SET', KEYS[seatCount + 2], 'CLOSED')
+
+            -- assign phase: 모든 좌석을 userId로 할당 + 만료 시각 기록 (이미 가진 좌석은 건너뜀)
+            local assigned = {}
+            for i = 1, seatCount do
+                if not mine[i] then
+                    redis.call('SET', KEYS[i], ARGV[1])
+                    redis.call('ZADD', expiryKey, ARGV[7], ARGV[9 + i])
+                    track(i, -1)
+                    table.insert(assigned, ARGV[9 + i])
+                end
+            end
+            if #assigned == 0 then
+                return 1
+            end
+            applyDeltas()
+            redis.call('PUBLISH', ARGV[8], ARGV[5] .. '|HOLD|' .. ARGV[6] .. '|' .. table.concat(assigned, ','))
+
+            -- 카운터 증가 (이번에 회수한 좌석만큼 차감)
+            local newCount = redis.call('INCRBY', countKey, #assigned - #reclaimed)
+
+            -- 만석 체크: 전체 좌석에 도달하면 상태를 CLOSED로 자동 변경 + 변경 알림
+            if newCount >= totalSeats and redis.call('GET', statusKey) ~= 'CLOSED' then
+                redis.call('SET', statusKey, 'CLOSED')
+                redis.call('SET', soldOutKey, totalSeats)
+                redis.call('PUBLISH', ARGV[4], ARGV[5] .. ':CLOSED')
             end
-    
+
             return 1
             """,
             Long.class
     );
 
+    /**
+     * KEYS: seat 키들(n) + hold_expiry + confirmed + section_inventory
+     * ARGV[1] = userId, ARGV[2] = now(ms), ARGV[3] = 좌석 변경 채널, ARGV[4] = matchId,
+     * ARGV[5..4+n] = seatId들, ARGV[5+n..4+2n] = 각 좌석의 구역
+     * 리턴: 실패한 좌석의 [위치, 사유] 목록 (비어 있으면 전체 확정)
+     */
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> confirmSeatsLuaScript = new DefaultRedisScript<>(
+            """
+            local seatCount = #KEYS - 3
+            local expiryKey = KEYS[seatCount + 1]
+            local confirmedKey = KEYS[seatCount + 2]
+            local inventoryKey = KEYS[seatCount + 3]
+            local now = tonumber(ARGV[2])
+            local failures = {}
+
+            -- check phase: 소유자, 확정 여부, 만료 여부 확인
+            for i = 1, seatCount do
+                local seatId = ARGV[4 + i]
+                local owner = redis.call('GET', KEYS[i])
+                local reason = nil
+                if not owner then
+                    reason = 'NOT_HELD'
+                elseif owner ~= ARGV[1] then
+                    reason = 'HELD_BY_OTHER'
+                elseif redis.call('SISMEMBER', confirmedKey, seatId) == 1 then
+                    reason = 'ALREADY_CONFIRMED'
+                else
+                    local expiresAt = redis.call('ZSCORE', expiryKey, seatId)
+                    if expiresAt and tonumber(expiresAt) <= now then
+                        reason = 'EXPIRED'
+                    end
+                end
+                if reason then
+                    table.insert(failures, tostring(i))
+                    table.insert(failures, reason)
+                end
+            end
+
+            if #failures > 0 then
+                return failures
+            end
+
+            -- confirm phase: 확정 기록 + 만료 회수 대상에서 제외 + 구역 판매 수 증가
+            -- (선점 때 이미 잔여에서 뺐으므로 잔여는 그대로, 같은 좌석이 두 번 오면 한 번만 센다)
+            local seen = {}
+            local confirmed = {}
+            for i = 1, seatCount do
+                local seatId = ARGV[4 + i]
+                if not seen[seatId] then
+                    seen[seatId] = true
+                    table.insert(confirmed, seatId)
+                    redis.call('SADD', confirmedKey, seatId)
+                    redis.call('ZREM', expiryKey, seatId)
+                    redis.call('HINCRBY', inventoryKey, ARGV[4 + seatCount + i] .. ':sold', 1)
+                end
+            end
+            redis.call('PUBLISH', ARGV[3], ARGV[4] .. '|CONFIRM|' .. ARGV[2] .. '|' .. table.concat(confirmed, ','))
+
+            return failures
+            """,
+            List.class
+    );
+
+    /**
+     * KEYS[1] = hold_expiry, KEYS[2] = reserved_count, KEYS[3] = section_inventory, KEYS[4] = status,
+     * KEYS[5] = sold_out
+     * ARGV[1] = now(ms), ARGV[2] = limit, ARGV[3] = matchId, ARGV[4] = seat 키 prefix, ARGV[5] = 좌석 변경 채널,
+     * ARGV[6] = 구역 좌석 수, ARGV[7] = 상태 변경 채널, ARGV[8] = 구역 목록(쉼표 구분)
+     * 좌석 키는 prefix로 만들어 KEYS에 없지만, 해시 태그가 같아 클러스터에서도 같은 슬롯이다.
+     * 구역은 HallLayout.indexOf와 같이 마지막 '-' 앞부분이고(구역 이름에 '-'가 있어도 된다),
+     * 배치의 구역 목록에 없는 값이면 구역 잔여를 건드리지 않는다.
+     */
+    private final DefaultRedisScript<Long> reclaimExpiredLuaScript = new DefaultRedisScript<>(
+            """
+            local expired = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+            local known = {}
+            for name in string.gmatch(ARGV[8], '[^,]+') do
+                known[name] = true
+            end
+            local deltas = {}
+            for _, seatId in ipairs(expired) do
+                redis.call('DEL', ARGV[4] .. seatId)
+                redis.call('ZREM', KEYS[1], seatId)
+                local section = string.match(seatId, '^(.*)%-')
+                if section and known[section] then
+                    deltas[section] = (deltas[section] or 0) + 1
+                end
+            end
+
+            if #expired > 0 then
+                local count = redis.call('DECRBY', KEYS[2], #expired)
+                for section, delta in pairs(deltas) do
+                    redis.call('HSETNX', KEYS[3], section, ARGV[6])
+                    redis.call('HINCRBY', KEYS[3], section, delta)
+                end
+                redis.call('PUBLISH', ARGV[5], ARGV[3] .. '|RELEASE|' .. ARGV[1] .. '|' .. table.concat(expired, ','))
+
+                -- 만석 마감 뒤 빈자리가 생겼으면 다시 연다 (수동 마감은 sold_out이 없어 그대로 둔다)
+                local soldOutAt = tonumber(redis.call('GET', KEYS[5]))
+                if soldOutAt and count < soldOutAt then
+                    redis.call('DEL', KEYS[5])
+                    if redis.call('GET', KEYS[4]) == 'CLOSED' then
+                        redis.call('SET', KEYS[4], 'OPEN')
+                        redis.call('PUBLISH', ARGV[7], ARGV[3] .. ':OPEN')
+                    end
+                end
+            end
+
+            return #expired
+            """,
+            Long.class
+    );
+
+    @Override
     public boolean tryReserveSeatsAtomically(Long matchId,
                                              List<String> seatIds,
                                              Long userId,
-                                             int totalSeats) {
+                                             int totalSeats,
+                                             long nowMillis,
+                                             long expiresAtMillis) {
+        ScriptCall call = prepareHold(new HoldRequest(matchId, seatIds, userId, totalSeats, nowMillis, expiresAtMillis));
+        if (call == null) {
+            return false;
+        }
+
+        Long result = redisTemplate.execute(reserveSeatsLuaScript, call.keys(), call.args());
+
+        boolean ok = result != null && result == 1L;
+        if (ok) {
+            activeHoldRegistry.register(matchId, expiresAtMillis);
+        }
+        return ok;
+    }
+
+    @Override
+    public List<CompletableFuture<Boolean>> tryReserveAllPipelined(List<HoldRequest> holds) {
+        // 배치에 없는 좌석이 포함된 요청은 Redis로 보내지 않고 바로 실패 처리
+        List<ScriptCall> calls = new ArrayList<>(holds.size());
+        List<Integer> positions = new ArrayList<>(holds.size());
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(holds.size());
+        for (int i = 0; i < holds.size(); i++) {
+            ScriptCall call = prepareHold(holds.get(i));
+            futures.add(call == null ? CompletableFuture.completedFuture(false) : null);
+            if (call != null) {
+                calls.add(call);
+                positions.add(i);
+            }
+        }
+        if (calls.isEmpty()) {
+            return futures;
+        }
+
+        List<Object> results = PipelinedScripts.evalAll(redisTemplate, reserveSeatsLuaScript, calls);
+        for (int i = 0; i < results.size(); i++) {
+            Object result = results.get(i);
+            HoldRequest hold = holds.get(positions.get(i));
+            if (result instanceof Throwable t) {
+                futures.set(positions.get(i), CompletableFuture.failedFuture(t));
+                continue;
+            }
+            boolean ok = Long.valueOf(1L).equals(result);
+            if (ok) {
+                activeHoldRegistry.register(hold.getMatchId(), hold.getExpiresAtMillis());
+            }
+            futures.set(positions.get(i), CompletableFuture.completedFuture(ok));
+        }
+        return futures;
+    }
+
+    /**
+     * @return 스크립트 호출, 배치에 없는 좌석이 있으면 null
+     */
+    ScriptCall prepareHold(HoldRequest hold) {
+        Long matchId = hold.getMatchId();
+        List<String> seatIds = hold.getSeatIds();
+        HallLayout layout = seatMetaService.layoutOf(matchId);
+
+        // KEYS: seat 키들 + reserved_count + status + hold_expiry + section_inventory + sold_out
+        List<String> keys = Stream.of(
+                seatIds.stream().map(seatId -> RedisKeys.seat(matchId, seatId)),
+                Stream.of(RedisKeys.reservedCount(matchId)),
+                Stream.of(RedisKeys.status(matchId)),
+                Stream.of(RedisKeys.holdExpiry(matchId)),
+                Stream.of(RedisKeys.sectionInventory(matchId)),
+                Stream.of(RedisKeys.soldOut(matchId))
+        ).flatMap(s -> s).toList();
+
+        int n = seatIds.size();
+        Object[] args = new Object[10 + 2 * n];
+        args[0] = hold.getUserId().toString();
+        args[1] = String.valueOf(seatIds.size());
+        args[2] = String.valueOf(hold.getTotalSeats());
+        args[3] = MatchStatusRepository.STATUS_CHANNEL;
+        args[4] = matchId.toString();
+        args[5] = String.valueOf(hold.getNowMillis());
+        args[6] = String.valueOf(hold.getExpiresAtMillis());
+        args[7] = SEAT_CHANGE_CHANNEL;
+        args[8] = String.valueOf(layout.seatsPerSection());
+        for (int i = 0; i < n; i++) {
+            int index = layout.indexOf(seatIds.get(i));
+            if (index < 0) {
+                return null;
+            }
+            args[9 + i] = seatIds.get(i);
+            args[9 + n + i] = layout.sectionAt(layout.sectionOf(index));
+        }
+        args[9 + 2 * n] = String.valueOf(hold.getExpiresAtMillis() - reholdWindowMillis);
+
+        return new ScriptCall(keys, args);
+    }
+
+    @Override
+    public Optional<Long> findOwner(Long matchId, String seatId) {
+        String val = redisTemplate.opsForValue().get(RedisKeys.seat(matchId, seatId));
+        if (val == null) return Optional.empty();
+        return Optional.of(Long.valueOf(val));
+    }
+
+    @Override
+    public Map<String, ConfirmFailureReason> confirmSeatsAtomically(Long matchId,
+                                                                    List<String> seatIds,
+                                                                    Long userId,
+                                                                    long nowMillis) {
+        HallLayout layout = seatMetaService.layoutOf(matchId);
+        int n = seatIds.size();
+
+        Map<String, ConfirmFailureReason> unknown = new LinkedHashMap<>();
+        Object[] args = new Object[4 + 2 * n];
+        args[0] = userId.toString();
+        args[1] = String.valueOf(nowMillis);
+        args[2] = SEAT_CHANGE_CHANNEL;
+        args[3] = matchId.toString();
+        for (int i = 0; i < n; i++) {
+            int index = layout.indexOf(seatIds.get(i));
+            if (index < 0) {
+                unknown.put(seatIds.get(i), ConfirmFailureReason.UNKNOWN_SEAT);
+                continue;
+            }
+            args[4 + i] = seatIds.get(i);
+            args[4 + n + i] = layout.sectionAt(layout.sectionOf(index));
+        }
+        if (!unknown.isEmpty()) {
+            return unknown;
+        }
 
-        // KEYS: seat 키들 + reserved_count + status
         List<String> keys = Stream.of(
-                seatIds.stream().map(seatId -> "seat:" + matchId + ":" + seatId),
-                Stream.of("match:" + matchId + ":reserved_count"),
-                Stream.of("match:" + matchId + ":status")
+                seatIds.stream().map(seatId -> RedisKeys.seat(matchId, seatId)),
+                Stream.of(RedisKeys.holdExpiry(matchId)),
+                Stream.of(RedisKeys.confirmed(matchId)),
+                Stream.of(RedisKeys.sectionInventory(matchId))
         ).flatMap(s -> s).toList();
 
-        Long result = redisTemplate.execute(
-                reserveSeatsLuaScript,
-                keys,
-                userId.toString(),
-                String.valueOf(seatIds.size()),
-                String.valueOf(totalSeats)
+        List<?> result = redisTemplate.execute(confirmSeatsLuaScript, keys, args);
+        return ConfirmScriptResults.toFailures(seatIds, result);
+    }
+
+    @Override
+    public int reclaimExpiredHolds(Long matchId, long nowMillis, int limit) {
+        HallLayout layout = seatMetaService.layoutOf(matchId);
+        Long reclaimed = redisTemplate.execute(
+                reclaimExpiredLuaScript,
+                List.of(RedisKeys.holdExpiry(matchId), RedisKeys.reservedCount(matchId),
+                        RedisKeys.sectionInventory(matchId), RedisKeys.status(matchId), RedisKeys.soldOut(matchId)),
+                String.valueOf(nowMillis),
+                String.valueOf(limit),
+                matchId.toString(),
+                RedisKeys.seatPrefix(matchId),
+                SEAT_CHANGE_CHANNEL,
+                String.valueOf(layout.seatsPerSection()),
+                MatchStatusRepository.STATUS_CHANNEL,
+                layout.sectionList()
         );
+        return reclaimed == null ? 0 : reclaimed.intValue();
+    }
 
-        return result != null && result == 1L;
+    @Override
+    public SeatOccupancy readOccupancy(Long matchId, long nowMillis) {
+        // 만료 시각이 지난 선점은 다음 선점 시도에서 회수되므로 빈 좌석으로 본다
+        Set<String> held = redisTemplate.opsForZSet()
+                .rangeByScore(RedisKeys.holdExpiry(matchId), nowMillis + 1, Double.POSITIVE_INFINITY);
+        Set<String> confirmed = redisTemplate.opsForSet().members(RedisKeys.confirmed(matchId));
+        return new SeatOccupancy(
+                held == null ? List.of() : List.copyOf(held),
+                confirmed == null ? List.of() : List.copyOf(confirmed)
+        );
     }
-}
\ No newline at end of file
+}
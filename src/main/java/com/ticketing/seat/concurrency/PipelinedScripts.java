@@ -0,0 +1,72 @@
+package com.ticketing.seat.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 같은 Lua 스크립트를 여러 번 한 파이프라인(EVALSHA)으로 보낸다.
+ *
+ * 스크립트 캐시에 없어서(NOSCRIPT) 실패한 호출만 개별 execute로 다시 보낸다.
+ * execute는 EVALSHA 실패 시 EVAL로 스크립트를 적재하므로 다음 파이프라인부터는 정상 동작한다.
+ * 그 밖의 오류는 해당 호출 결과에 예외로 담아 돌려준다. (이미 실행됐을 수 있으므로 재시도하지 않음)
+ */
+@Slf4j
+final class PipelinedScripts {
+
+    private PipelinedScripts() {
+    }
+
+    /**
+     * @return 호출 순서대로 Long 결과 또는 RuntimeException
+     */
+    static List<Object> evalAll(StringRedisTemplate redisTemplate, RedisScript<Long> script, List<ScriptCall> calls) {
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (ScriptCall call : calls) {
+                    connection.scriptingCommands().evalSha(
+                            script.getSha1(), ReturnType.INTEGER, call.keys().size(), call.keysAndArgs());
+                }
+                return null;
+            });
+        } catch (RedisPipelineException e) {
+            results = e.getPipelineResult();
+        }
+
+        List<Object> out = new ArrayList<>(calls.size());
+        for (int i = 0; i < calls.size(); i++) {
+            Object result = i < results.size() ? results.get(i) : null;
+            if (result instanceof Exception ex && isNoScript(ex)) {
+                ScriptCall call = calls.get(i);
+                try {
+                    out.add(redisTemplate.execute(script, call.keys(), call.args()));
+                } catch (RuntimeException retryError) {
+                    out.add(retryError);
+                }
+            } else if (result instanceof RuntimeException ex) {
+                out.add(ex);
+            } else if (result instanceof Exception ex) {
+                out.add(new IllegalStateException(ex.getMessage(), ex));
+            } else {
+                out.add(result);
+            }
+        }
+        return out;
+    }
+
+    private static boolean isNoScript(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
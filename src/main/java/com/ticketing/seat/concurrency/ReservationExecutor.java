@@ -0,0 +1,75 @@
+package com.ticketing.seat.concurrency;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 좌석 선점 저장소 추상화.
+ * ticketing.seat-store.layout 값으로 구현체를 선택한다.
+ *  - key    : 좌석마다 seat:{matchId}:{seatId} 문자열 키 (LuaReservationExecutor, 기본값)
+ *  - bitmap : 매치별 점유 비트맵 + 소유자 해시 (BitmapReservationExecutor)
+ *
+ * 두 구현 모두 선점 만료 시각을 match:{matchId}:hold_expiry ZSET에 기록하고,
+ * 선점에 성공하면 ActiveHoldRegistry에 매치를 등록한다. (키 규칙은 RedisKeys)
+ * 좌석 상태가 바뀌면 같은 스크립트 안에서 SEAT_CHANGE_CHANNEL로 변경분을 발행한다.
+ */
+public interface ReservationExecutor {
+
+    /**
+     * 좌석 변경 알림 채널
+     * 메시지 형식: "{matchId}|{HOLD|RELEASE|CONFIRM}|{발생 시각 ms}|{좌석 토큰,...}"
+     * 좌석 토큰은 구현체마다 다르며 seatIdOf로 좌석 ID로 바꾼다.
+     */
+    String SEAT_CHANGE_CHANNEL = "seat:changes";
+
+    /**
+     * 모든 좌석이 비어 있을 때만 전체를 userId로 선점한다. (all-or-nothing)
+     * 이미 만료된 선점은 빈 좌석으로 취급해 회수한다.
+     */
+    boolean tryReserveSeatsAtomically(Long matchId, List<String> seatIds, Long userId, int totalSeats,
+                                      long nowMillis, long expiresAtMillis);
+
+    /**
+     * 여러 선점 요청을 한 번의 파이프라인으로 실행한다. (HoldCoalescer에서 사용)
+     * 요청별 all-or-nothing 규칙은 tryReserveSeatsAtomically와 같다.
+     *
+     * @return 요청 순서대로 완료된 future (Redis 오류는 해당 요청만 예외로 완료)
+     */
+    List<CompletableFuture<Boolean>> tryReserveAllPipelined(List<HoldRequest> holds);
+
+    /**
+     * 좌석 점유자 조회
+     */
+    Optional<Long> findOwner(Long matchId, String seatId);
+
+    /**
+     * 선점한 좌석을 한 번의 스크립트 실행으로 확정한다.
+     * 모든 좌석이 userId 소유이고, 만료되지 않았고, 아직 확정되지 않았을 때만 전체를 확정한다.
+     * 확정된 좌석은 만료 회수 대상에서 제외된다.
+     *
+     * @return 실패한 좌석과 사유 (요청 순서 유지, 비어 있으면 전체 성공)
+     */
+    Map<String, ConfirmFailureReason> confirmSeatsAtomically(Long matchId, List<String> seatIds, Long userId,
+                                                             long nowMillis);
+
+    /**
+     * nowMillis 기준으로 만료된 선점을 최대 limit개 회수하고 카운트를 감소시킨다.
+     *
+     * @return 회수한 좌석 수
+     */
+    int reclaimExpiredHolds(Long matchId, long nowMillis, int limit);
+
+    /**
+     * 현재 선점(만료 전) 좌석과 확정 좌석 목록
+     */
+    SeatOccupancy readOccupancy(Long matchId, long nowMillis);
+
+    /**
+     * 좌석 변경 알림의 좌석 토큰 -> 좌석 ID
+     */
+    default String seatIdOf(Long matchId, String token) {
+        return token;
+    }
+}
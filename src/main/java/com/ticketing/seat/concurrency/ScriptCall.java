@@ -0,0 +1,40 @@
+package com.ticketing.seat.concurrency;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Lua 스크립트 호출 한 건 (KEYS + ARGV)
+ */
+final class ScriptCall {
+
+    private final List<String> keys;
+    private final Object[] args;
+
+    ScriptCall(List<String> keys, Object[] args) {
+        this.keys = keys;
+        this.args = args;
+    }
+
+    List<String> keys() {
+        return keys;
+    }
+
+    Object[] args() {
+        return args;
+    }
+
+    /**
+     * 파이프라인에서 EVALSHA로 보낼 때 쓰는 KEYS + ARGV 바이트 배열
+     */
+    byte[][] keysAndArgs() {
+        byte[][] out = new byte[keys.size() + args.length][];
+        for (int i = 0; i < keys.size(); i++) {
+            out[i] = keys.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+        for (int i = 0; i < args.length; i++) {
+            out[keys.size() + i] = args[i].toString().getBytes(StandardCharsets.UTF_8);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ticketing.seat.concurrency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 매치 좌석 점유 현황 (Redis 기준)
+ */
+@Getter
+@AllArgsConstructor
+public class SeatOccupancy {
+
+    private final List<String> heldSeats;
+    private final List<String> confirmedSeats;
+}
@@ -0,0 +1,142 @@
+package com.ticketing.seat.consumer;
+
+import com.ticketing.seat.event.SeatConfirmationEvent;
+import com.ticketing.seat.mongodb.SeatConfirmationRollup;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 확정 이벤트를 (매치, 구역, 분) 버킷으로 미리 집계해 seat_confirmation_rollups에 upsert 한다.
+ *
+ * 한 번 호출(= 컨슈머 배치 하나)에 들어온 이벤트를 메모리에서 먼저 합치고,
+ * 버킷마다 $inc/$min/$max upsert 하나씩 unordered 벌크로 보낸다.
+ * 오픈 직후처럼 같은 매치 이벤트가 몰려도 쓰기 수는 배치당 버킷 수로 묶인다.
+ *
+ * 배치가 재전달되면 같은 이벤트가 다시 더해질 수 있다. (at-least-once)
+ * 정확한 값이 필요하면 원본 로그(seat_confirmation_logs)로 다시 계산한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConfirmationRollupAggregator {
+
+    private static final long BUCKET_MILLIS = 60_000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    void ensureIndexes() {
+        mongoTemplate.indexOps(SeatConfirmationRollup.class)
+                .createIndex(new Index().on("matchId", Sort.Direction.ASC).on("bucketStart", Sort.Direction.ASC)
+                        .named("match_bucket"));
+    }
+
+    public void apply(List<SeatConfirmationEvent> events) {
+        Map<String, Delta> deltas = new LinkedHashMap<>();
+        for (SeatConfirmationEvent event : events) {
+            if (event.getMatchId() == null) {
+                continue;
+            }
+            long bucketStart = event.getTimestamp() - Math.floorMod(event.getTimestamp(), BUCKET_MILLIS);
+            for (Map.Entry<String, Integer> section : seatsPerSection(event).entrySet()) {
+                String id = event.getMatchId() + ":" + section.getKey() + ":" + bucketStart;
+                deltas.computeIfAbsent(id, k -> new Delta(event.getMatchId(), section.getKey(), bucketStart))
+                        .add(event, section.getValue());
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SeatConfirmationRollup.class);
+        deltas.forEach((id, delta) -> bulk.upsert(Query.query(Criteria.where("_id").is(id)), delta.toUpdate()));
+        bulk.execute();
+    }
+
+    /**
+     * 구역별 좌석 수. 구역 정보가 없으면 NO_SECTION 하나로 센다.
+     */
+    private Map<String, Integer> seatsPerSection(SeatConfirmationEvent event) {
+        List<String> sectionIds = event.getSectionIds();
+        if (sectionIds == null || sectionIds.isEmpty()) {
+            int seats = event.getSeatIds() == null ? 0 : event.getSeatIds().size();
+            return Map.of(SeatConfirmationRollup.NO_SECTION, seats);
+        }
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String sectionId : sectionIds) {
+            counts.merge(sectionId == null ? SeatConfirmationRollup.NO_SECTION : sectionId, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * log2 버킷 번호: 0ms -> 0, 1ms -> 1, 2~3ms -> 2, 4~7ms -> 3 ...
+     */
+    static int durationBucket(long durationMs) {
+        return durationMs <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(durationMs);
+    }
+
+    private static class Delta {
+        private final Long matchId;
+        private final String sectionId;
+        private final long bucketStart;
+        private long success;
+        private long failure;
+        private long seats;
+        private long durationCount;
+        private long durationSum;
+        private long durationMin = Long.MAX_VALUE;
+        private long durationMax = Long.MIN_VALUE;
+        private final Map<Integer, Long> durationBuckets = new HashMap<>();
+
+        private Delta(Long matchId, String sectionId, long bucketStart) {
+            this.matchId = matchId;
+            this.sectionId = sectionId;
+            this.bucketStart = bucketStart;
+        }
+
+        private void add(SeatConfirmationEvent event, int sectionSeats) {
+            if (event.isSuccess()) {
+                success++;
+                seats += sectionSeats;
+            } else {
+                failure++;
+            }
+            long duration = event.getSelectionDurationMs();
+            durationCount++;
+            durationSum += duration;
+            durationMin = Math.min(durationMin, duration);
+            durationMax = Math.max(durationMax, duration);
+            durationBuckets.merge(durationBucket(duration), 1L, Long::sum);
+        }
+
+        private Update toUpdate() {
+            Update update = new Update()
+                    .setOnInsert("matchId", matchId)
+                    .setOnInsert("sectionId", sectionId)
+                    .setOnInsert("bucketStart", new Date(bucketStart))
+                    .inc("successCount", success)
+                    .inc("failureCount", failure)
+                    .inc("seatCount", seats)
+                    .inc("durationCount", durationCount)
+                    .inc("durationSumMs", durationSum)
+                    .min("durationMinMs", durationMin)
+                    .max("durationMaxMs", durationMax);
+            durationBuckets.forEach((bucket, count) -> update.inc("durationBuckets." + bucket, count));
+            return update;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ticketing.seat.consumer;
+
+import com.ticketing.seat.event.SeatConfirmationEvent;
+import com.ticketing.seat.mongodb.SeatConfirmationLog;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.Date;
+
+/**
+ * 좌석 확정 이벤트 -> MongoDB 로그 문서 변환 (단건/배치 컨슈머 공용)
+ */
+@Component
+public class SeatConfirmationLogMapper {
+
+    // getLocalHost()는 DNS 조회로 막힐 수 있어 기동 시 한 번만 구한다
+    private final String hostName = resolveHostName();
+
+    /**
+     * 이벤트를 MongoDB 문서로 변환
+     *
+     * @param id 문서 ID (null이면 MongoDB가 생성)
+     */
+    public SeatConfirmationLog toLogEntry(String id, SeatConfirmationEvent event) {
+        return SeatConfirmationLog.builder()
+                .id(id)
+                .meta(new SeatConfirmationLog.Meta(event.getMatchId(), event.isSuccess()))
+                .timestamp(new Date(event.getTimestamp()))
+                .eventType("SEAT_CONFIRMED")
+                .userId(event.getUserId())
+                .seatIds(event.getSeatIds())
+                .sectionIds(event.getSectionIds())
+                .message(event.getMessage())
+                .selectionDurationMs(event.getSelectionDurationMs())
+                .processingNode(hostName)
+                .build();
+    }
+
+    /**
+     * 처리 노드 이름 얻기
+     */
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
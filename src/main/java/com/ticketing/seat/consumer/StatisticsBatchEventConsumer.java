@@ -0,0 +1,99 @@
+package com.ticketing.seat.consumer;
+
+import com.mongodb.MongoBulkWriteException;
+import com.ticketing.seat.event.SeatConfirmationEvent;
+import com.ticketing.seat.metrics.TicketingMetrics;
+import com.ticketing.seat.mongodb.SeatConfirmationLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 좌석 확정 이벤트 배치 소비 (기본 모드, ticketing.stats-consumer.mode=batch)
+ *
+ * poll 한 번에 받은 레코드를 모두 문서로 바꿔 unordered 벌크 insert 한 번으로 저장한다.
+ * 저장에 실패하면 예외를 던져 오프셋을 커밋하지 않고, 컨테이너가 같은 배치를 다시 전달한다.
+ * (batchKafkaListenerContainerFactory 참고)
+ *
+ * 문서 ID를 "토픽-파티션-오프셋"으로 정해 재전달된 배치를 다시 넣어도 중복 문서가 생기지 않는다.
+ * 이전 시도에서 이미 들어간 문서의 중복 키 오류는 성공으로 본다.
+ * 단, time-series 컬렉션(ticketing.mongo.logs.time-series=true)은 _id 중복을 막지 않으므로 이 보장이 없다.
+ * 원본 저장 뒤 ConfirmationRollupAggregator로 분 단위 집계를 갱신한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ticketing.stats-consumer.mode", havingValue = "batch", matchIfMissing = true)
+public class StatisticsBatchEventConsumer {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final SeatConfirmationLogMapper logMapper;
+    private final ConfirmationRollupAggregator rollupAggregator;
+    private final TicketingMetrics ticketingMetrics;
+
+    @KafkaListener(topics = "match.seat.confirmed",
+            groupId = "${spring.kafka.consumer.group-id:ticketing-service}",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeSeatConfirmationEvents(List<ConsumerRecord<String, Object>> records) {
+        List<SeatConfirmationLog> entries = new ArrayList<>(records.size());
+        List<SeatConfirmationEvent> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, Object> record : records) {
+            if (!(record.value() instanceof SeatConfirmationEvent event)) {
+                // 역직렬화 실패(ErrorHandlingDeserializer) 등 읽을 수 없는 레코드는 건너뛴다
+                log.warn("Skipping unreadable seat confirmation record: partition={}, offset={}",
+                        record.partition(), record.offset());
+                continue;
+            }
+            ticketingMetrics.recordConsumerLag(event.getMatchId(), event.getTimestamp());
+            entries.add(logMapper.toLogEntry(documentId(record), event));
+            events.add(event);
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        long writeStart = System.nanoTime();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SeatConfirmationLog.class)
+                    .insert(entries)
+                    .execute();
+        } catch (BulkOperationException e) {
+            if (!onlyDuplicateKeys(e)) {
+                ticketingMetrics.recordMongoBulkWrite(entries.size(), false, System.nanoTime() - writeStart);
+                throw e;
+            }
+            log.info("Seat confirmation batch partially stored before, duplicates ignored: count={}",
+                    e.getErrors().size());
+        } catch (RuntimeException e) {
+            ticketingMetrics.recordMongoBulkWrite(entries.size(), false, System.nanoTime() - writeStart);
+            throw e;
+        }
+        ticketingMetrics.recordMongoBulkWrite(entries.size(), true, System.nanoTime() - writeStart);
+
+        // 원본 저장 후 집계 반영 (실패 시 배치 재전달)
+        rollupAggregator.apply(events);
+
+        log.debug("Stored seat confirmation batch in MongoDB: count={}", entries.size());
+    }
+
+    private String documentId(ConsumerRecord<String, Object> record) {
+        return record.topic() + "-" + record.partition() + "-" + record.offset();
+    }
+
+    private boolean onlyDuplicateKeys(BulkOperationException e) {
+        return !e.getErrors().isEmpty()
+                && e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY)
+                && !(e.getCause() instanceof MongoBulkWriteException bulk && bulk.getWriteConcernError() != null);
+    }
+}
@@ -2,17 +2,20 @@ package com.ticketing.seat.controller;
 
 import com.ticketing.seat.dto.SeatConfirmationRequest;
 import com.ticketing.seat.dto.SeatConfirmationResponse;
-import com.ticketing.seat.exception.MatchClosedException;
-import com.ticketing.seat.exception.MatchNotFoundException;
-import com.ticketing.seat.exception.SeatAlreadyTakenException;
+import com.ticketing.seat.ratelimit.RequestRateLimiter;
+import com.ticketing.seat.result.ConfirmResult;
+import com.ticketing.seat.result.ErrorCode;
+import com.ticketing.seat.result.RejectionResponses;
 import com.ticketing.seat.service.SeatConfirmationService;
+import com.ticketing.seat.service.WaitingRoomService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @Slf4j
 @RestController
 @RequiredArgsConstructor
@@ -20,80 +23,65 @@ import org.springframework.web.bind.annotation.*;
 public class SeatConfirmationController {
 
     private final SeatConfirmationService seatConfirmationService;
+    private final WaitingRoomService waitingRoomService;
+    private final Optional<RequestRateLimiter> rateLimiter;
+    private final RejectionResponses rejectionResponses;
 
     /**
      * 좌석 확정 API
      *
      * @param matchId 매치 ID
      * @param request 확정 요청 정보 (userId, seatIds)
-     * @return 확정 결과
+     * @param waitingRoomToken 대기열이 켜진 매치면 입장한 대기열 토큰
+     * @return 확정 결과 (실패 시 errorCode로 상태 코드가 정해진다)
      */
     @PostMapping("/matches/{matchId}/seats/confirm")
-    public ResponseEntity<SeatConfirmationResponse> confirmSeats(
+    public ResponseEntity<?> confirmSeats(
             @PathVariable Long matchId,
             @RequestBody SeatConfirmationRequest request,
+            @RequestHeader(value = WaitingRoomService.TOKEN_HEADER, required = false) String waitingRoomToken,
             HttpServletRequest servletRequest) {
 
+        if (rateLimiter.isPresent()) {
+            long retryAfterMillis = rateLimiter.get().acquire(request.getUserId(), servletRequest.getRemoteAddr());
+            if (retryAfterMillis > 0) {
+                return rejectionResponses.confirmRateLimited(retryAfterMillis);
+            }
+        }
+
         log.info("좌석 확정 요청: matchId={}, userId={}, seatCount={}",
                 matchId, request.getUserId(),
                 request.getSeatIds() != null ? request.getSeatIds().size() : 0);
 
+        if (!waitingRoomService.isAdmitted(matchId, request.getUserId(), waitingRoomToken)) {
+            log.warn("대기열 미입장: matchId={}, userId={}", matchId, request.getUserId());
+            return rejectionResponses.confirm(ErrorCode.NOT_ADMITTED);
+        }
+
         try {
             // 좌석 확정 서비스 호출
-            SeatConfirmationResponse response = seatConfirmationService.confirmSeats(matchId, request);
+            ConfirmResult result = seatConfirmationService.confirmSeats(matchId, request);
 
-            // 응답 상태 결정
-            if (!response.isSuccess()) {
-                // 이미 예약된 좌석 충돌
-                if (response.getMessage() != null && response.getMessage().contains("이미 예약된 좌석")) {
-                    log.warn("좌석 충돌 발생: matchId={}, userId={}", matchId, request.getUserId());
-                    return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            if (!result.isSuccess()) {
+                ErrorCode code = result.getErrorCode();
+                log.warn("좌석 확정 실패: matchId={}, userId={}, errorCode={}",
+                        matchId, request.getUserId(), code);
+                if (result.getResponse() == null) {
+                    return rejectionResponses.confirm(code);
                 }
-
-                // 판매 종료 / 매치 종료
-                if (response.getMessage() != null && response.getMessage().contains("더 이상 예매할 수 없습니다")) {
-                    log.warn("매치 종료됨: matchId={}, userId={}", matchId, request.getUserId());
-                    return ResponseEntity.status(HttpStatus.GONE).body(response);
-                }
-
-                // 기타 오류
-                log.warn("좌석 확정 실패: matchId={}, userId={}, message={}",
-                        matchId, request.getUserId(), response.getMessage());
-                return ResponseEntity.badRequest().body(response);
+                return ResponseEntity.status(code.getStatus()).body(result.getResponse());
             }
 
             // 성공 응답
+            SeatConfirmationResponse response = result.getResponse();
             log.info("좌석 확정 성공: matchId={}, userId={}, seatCount={}",
                     matchId, request.getUserId(),
                     response.getConfirmedSeats() != null ? response.getConfirmedSeats().size() : 0);
             return ResponseEntity.ok(response);
 
-        } catch (MatchNotFoundException e) {
-            log.warn("매치 없음: matchId={}", matchId);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(buildErrorResponse("Match not found: " + matchId));
-        } catch (MatchClosedException e) {
-            log.warn("매치 닫힘: matchId={}", matchId);
-            return ResponseEntity.status(HttpStatus.GONE)
-                    .body(buildErrorResponse(e.getMessage()));
-        } catch (SeatAlreadyTakenException e) {
-            log.warn("좌석 이미 점유됨: matchId={}, message={}", matchId, e.getMessage());
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(buildErrorResponse(e.getMessage()));
         } catch (Exception e) {
             log.error("좌석 확정 처리 중 오류 발생: matchId={}", matchId, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(buildErrorResponse("Internal server error: " + e.getMessage()));
+            return rejectionResponses.confirm(ErrorCode.INTERNAL_ERROR);
         }
     }
-
-    /**
-     * 에러 응답 생성 헬퍼 메서드
-     */
-    private SeatConfirmationResponse buildErrorResponse(String message) {
-        return SeatConfirmationResponse.builder()
-                .success(false)
-                .message(message)
-                .build();
-    }
-}
\ No newline at end of file
+}
@@ -1,73 +1,75 @@
 package com.ticketing.seat.controller;
 
 import com.ticketing.seat.dto.SeatReservationRequest;
-import com.ticketing.seat.dto.SeatReservationResponse;
-import com.ticketing.seat.exception.MatchClosedException;
-import com.ticketing.seat.exception.MatchNotFoundException;
-import com.ticketing.seat.exception.ReservationConflictException;
-import com.ticketing.seat.exception.TooManySeatsRequestedException;
+import com.ticketing.seat.ratelimit.RequestRateLimiter;
+import com.ticketing.seat.result.ErrorCode;
+import com.ticketing.seat.result.HoldResult;
+import com.ticketing.seat.result.RejectionResponses;
 import com.ticketing.seat.service.SeatReservationService;
+import com.ticketing.seat.service.WaitingRoomService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/ticketing")
 public class SeatController {
 
     private final SeatReservationService seatReservationService;
+    private final WaitingRoomService waitingRoomService;
+    private final Optional<RequestRateLimiter> rateLimiter;
+    private final RejectionResponses rejectionResponses;
 
     /**
      * 좌석 선점(hold) API
      *
      * @param matchId 매치 ID
      * @param request 좌석 선점 요청 정보 (userId, seatIds)
-     * @return 성공 시 선점된 좌석 정보, 실패 시 실패한 좌석 정보
+     * @param waitingRoomToken 대기열이 켜진 매치면 입장한 대기열 토큰
+     * @return 성공 시 선점된 좌석 정보, 실패 시 실패한 좌석 정보 또는 errorCode
      */
     @PostMapping("/matches/{matchId}/hold")
-    public ResponseEntity<SeatReservationResponse> holdSeats(
+    public ResponseEntity<?> holdSeats(
             @PathVariable Long matchId,
-            @RequestBody SeatReservationRequest request) {
+            @RequestBody SeatReservationRequest request,
+            @RequestHeader(value = WaitingRoomService.TOKEN_HEADER, required = false) String waitingRoomToken,
+            HttpServletRequest servletRequest) {
 
         // matchId 설정
         request.setMatchId(matchId);
 
+        if (rateLimiter.isPresent()) {
+            long retryAfterMillis = rateLimiter.get().acquire(request.getUserId(), servletRequest.getRemoteAddr());
+            if (retryAfterMillis > 0) {
+                return rejectionResponses.holdRateLimited(retryAfterMillis);
+            }
+        }
+
+        if (!waitingRoomService.isAdmitted(matchId, request.getUserId(), waitingRoomToken)) {
+            return rejectionResponses.hold(ErrorCode.NOT_ADMITTED);
+        }
+
         try {
             // 좌석 예약 서비스 호출
-            SeatReservationResponse response = seatReservationService.reserveSeats(request);
+            HoldResult result = seatReservationService.reserveSeats(request);
 
-            if (response.isSuccess()) {
-                return ResponseEntity.ok(response);
-            } else {
-                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            if (result.isSuccess()) {
+                return ResponseEntity.ok(result.getResponse());
             }
+            if (result.getResponse() == null) {
+                return rejectionResponses.hold(result.getErrorCode());
+            }
+            return ResponseEntity.status(result.getErrorCode().getStatus()).body(result.getResponse());
 
-        } catch (MatchNotFoundException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(buildErrorResponse("Match not found"));
-        } catch (MatchClosedException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(buildErrorResponse("Match is closed or not available"));
-        } catch (TooManySeatsRequestedException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(buildErrorResponse("Too many seats requested"));
-        } catch (ReservationConflictException e) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(buildErrorResponse("Seat reservation conflict"));
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(buildErrorResponse("Internal server error: " + e.getMessage()));
+            log.error("좌석 선점 처리 중 오류 발생: matchId={}", matchId, e);
+            return rejectionResponses.hold(ErrorCode.INTERNAL_ERROR);
         }
     }
-
-    /**
-     * 에러 응답 생성 헬퍼 메서드
-     */
-    private SeatReservationResponse buildErrorResponse(String message) {
-        return SeatReservationResponse.builder()
-                .success(false)
-                .build();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package com.ticketing.seat.controller;
+
+import com.ticketing.seat.cache.MatchMetaCache;
+import com.ticketing.seat.dto.SeatMapSnapshotResponse;
+import com.ticketing.seat.dto.SectionAvailabilityResponse;
+import com.ticketing.seat.service.SeatCountService;
+import com.ticketing.seat.service.SeatMapService;
+import com.ticketing.seat.service.SeatMapStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ticketing")
+public class SeatMapController {
+
+    private final MatchMetaCache matchMetaCache;
+    private final SeatMapService seatMapService;
+    private final SeatMapStreamService seatMapStreamService;
+    private final SeatCountService seatCountService;
+
+    /**
+     * 좌석 현황 스냅샷 API
+     *
+     * @param matchId 매치 ID
+     * @return 선점/확정된 좌석 목록 (목록에 없는 좌석은 빈 좌석)
+     */
+    @GetMapping("/matches/{matchId}/seat-map")
+    public ResponseEntity<SeatMapSnapshotResponse> getSeatMap(@PathVariable Long matchId) {
+        if (matchMetaCache.find(matchId).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(seatMapService.snapshot(matchId));
+    }
+
+    /**
+     * 구역/등급별 잔여 좌석 요약 API
+     *
+     * @param matchId 매치 ID
+     * @return 구역별 전체/잔여/판매 좌석 수와 등급별 잔여 좌석 수
+     */
+    @GetMapping("/matches/{matchId}/sections")
+    public ResponseEntity<SectionAvailabilityResponse> getSectionAvailability(@PathVariable Long matchId) {
+        if (matchMetaCache.find(matchId).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(seatCountService.getSectionAvailability(matchId));
+    }
+
+    /**
+     * 좌석 변경분 스트림 (SSE)
+     * "ready" 이벤트 수신 후 스냅샷을 조회하고, 이후 "seats" 이벤트의 변경분을 적용한다.
+     */
+    @GetMapping(value = "/matches/{matchId}/seat-map/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSeatMap(@PathVariable Long matchId) {
+        if (matchMetaCache.find(matchId).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(seatMapStreamService.subscribe(matchId));
+    }
+}
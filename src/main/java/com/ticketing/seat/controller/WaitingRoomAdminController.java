@@ -0,0 +1,68 @@
+package com.ticketing.seat.controller;
+
+import com.ticketing.seat.service.WaitingRoomService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 대기열 운영 API. 사용자 API(/api/ticketing)와 경로를 나누고, 요청마다 X-Admin-Token을 확인한다.
+ *
+ * ticketing.admin.token 이 설정된 경우에만 등록된다. (설정이 없으면 운영 API 자체가 없다)
+ */
+@RestController
+@RequestMapping("/api/admin")
+@ConditionalOnProperty(name = "ticketing.admin.token")
+public class WaitingRoomAdminController {
+
+    public static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final WaitingRoomService waitingRoomService;
+    private final byte[] adminToken;
+
+    public WaitingRoomAdminController(WaitingRoomService waitingRoomService,
+                                      @Value("${ticketing.admin.token}") String adminToken) {
+        this.waitingRoomService = waitingRoomService;
+        this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 대기열 켜기 / 입장 속도 변경
+     */
+    @PutMapping("/matches/{matchId}/waiting-room")
+    public ResponseEntity<Void> enable(@PathVariable Long matchId,
+                                       @RequestParam int ratePerSecond,
+                                       @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token) {
+        if (!authorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (ratePerSecond <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        waitingRoomService.enable(matchId, ratePerSecond);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 대기열 끄기. 대기 중인 순번도 모두 지운다.
+     */
+    @DeleteMapping("/matches/{matchId}/waiting-room")
+    public ResponseEntity<Void> disable(@PathVariable Long matchId,
+                                        @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token) {
+        if (!authorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        waitingRoomService.disable(matchId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private boolean authorized(String token) {
+        return adminToken.length > 0 && token != null
+                && MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
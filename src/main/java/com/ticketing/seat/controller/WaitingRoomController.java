@@ -0,0 +1,56 @@
+package com.ticketing.seat.controller;
+
+import com.ticketing.seat.cache.MatchMetaCache;
+import com.ticketing.seat.dto.WaitingRoomJoinRequest;
+import com.ticketing.seat.dto.WaitingRoomStatusResponse;
+import com.ticketing.seat.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 대기열 사용자 API. 대기열 켜기/끄기는 WaitingRoomAdminController.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ticketing")
+public class WaitingRoomController {
+
+    private final MatchMetaCache matchMetaCache;
+    private final WaitingRoomService waitingRoomService;
+
+    /**
+     * 대기열 입장 API
+     *
+     * @param matchId 매치 ID
+     * @param request 사용자 ID
+     * @return 순번과 토큰 (토큰은 이후 상태 조회와 hold/confirm 요청에 사용)
+     */
+    @PostMapping("/matches/{matchId}/waiting-room")
+    public ResponseEntity<WaitingRoomStatusResponse> join(
+            @PathVariable Long matchId,
+            @RequestBody WaitingRoomJoinRequest request) {
+        if (request.getUserId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (matchMetaCache.find(matchId).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(waitingRoomService.join(matchId, request.getUserId()));
+    }
+
+    /**
+     * 대기 순번 조회 API (폴링용, 대부분 Redis 조회 없이 응답)
+     */
+    @GetMapping("/matches/{matchId}/waiting-room")
+    public ResponseEntity<WaitingRoomStatusResponse> status(
+            @PathVariable Long matchId,
+            @RequestHeader(WaitingRoomService.TOKEN_HEADER) String token) {
+        WaitingRoomStatusResponse status = waitingRoomService.status(matchId, token);
+        if (status == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(status);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ticketing.seat.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FailedSeatDto {
+    private String seatId;
+    private String reason;      // "NOT_HELD", "HELD_BY_OTHER", "ALREADY_CONFIRMED", "EXPIRED", "UNKNOWN_SEAT"
+}
@@ -0,0 +1,16 @@
+package com.ticketing.seat.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatChangeDto {
+    private String type;        // "HOLD", "RELEASE", "CONFIRM"
+    private List<String> seatIds;
+    private long at;            // Redis에서 변경된 시각 (epoch ms)
+}
@@ -17,4 +17,6 @@ public class SeatConfirmationResponse {
     private String userId;
     private List<String> requestedSeats;
     private String status;
+    private List<FailedSeatDto> failedSeats;
+    private String errorCode;   // 실패 시 ErrorCode 이름 (성공이면 null)
 }
\ No newline at end of file
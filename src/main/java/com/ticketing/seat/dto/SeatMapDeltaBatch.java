@@ -0,0 +1,16 @@
+package com.ticketing.seat.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatMapDeltaBatch {
+    private Long matchId;
+    private long seq;           // 매치별 배치 순번 (연결된 노드 기준, 1씩 증가)
+    private List<SeatChangeDto> changes;
+}
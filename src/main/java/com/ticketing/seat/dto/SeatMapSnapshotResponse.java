@@ -0,0 +1,18 @@
+package com.ticketing.seat.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatMapSnapshotResponse {
+    private Long matchId;
+    private int capacity;
+    private List<String> heldSeats;
+    private List<String> confirmedSeats;
+    private long takenAt;       // 스냅샷 시각 (epoch ms), 이보다 이전 변경분은 적용하지 않는다
+}
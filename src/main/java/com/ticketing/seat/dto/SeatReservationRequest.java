@@ -13,6 +13,8 @@ public class SeatReservationRequest {
 
     private Long userId;
     private List<String> seatIds;
+    // seatIds 대신 좌석 수만 보내면 서버가 연속 빈자리를 골라 준다
+    private Integer quantity;
     private String sectionId;
     private String grade;
     private Long matchId;
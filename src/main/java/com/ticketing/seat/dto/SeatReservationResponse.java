@@ -14,4 +14,5 @@ public class SeatReservationResponse {
     private boolean success;
     private List<ReservedSeatInfoDto> heldSeats;
     private List<ReservedSeatInfoDto> failedSeats;
+    private String errorCode;   // 실패 시 ErrorCode 이름 (성공이면 null)
 }
@@ -0,0 +1,16 @@
+package com.ticketing.seat.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SectionAvailabilityDto {
+    private String sectionId;
+    private String grade;
+    private int capacity;
+    private int remaining;      // 선점/확정되지 않은 좌석 수
+    private int sold;           // 확정 좌석 수
+}
@@ -0,0 +1,17 @@
+package com.ticketing.seat.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SectionAvailabilityResponse {
+    private Long matchId;
+    private List<SectionAvailabilityDto> sections;
+    private Map<String, Integer> remainingByGrade;  // 등급 -> 남은 좌석 수 (구역 합계)
+}
@@ -0,0 +1,12 @@
+package com.ticketing.seat.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitingRoomJoinRequest {
+    private Long userId;
+}
@@ -0,0 +1,19 @@
+package com.ticketing.seat.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitingRoomStatusResponse {
+    private Long matchId;
+    private Long userId;
+    private String token;               // hold/confirm 요청의 X-Waiting-Room-Token 헤더로 보낸다
+    private long position;              // 대기 순번 (1부터)
+    private long admittedUpTo;          // 이 순번까지 입장
+    private boolean admitted;
+    private long ahead;                 // 내 앞 대기 인원
+    private long estimatedWaitSeconds;
+}
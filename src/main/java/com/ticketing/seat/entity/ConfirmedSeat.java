@@ -0,0 +1,40 @@
+package com.ticketing.seat.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 확정 좌석 (누가 어떤 좌석을 가져갔는지의 최종 기록)
+ * ConfirmedSeatWriter가 모아서 multi-row INSERT로 쓴다. (match_id, seat_id)가 같으면 무시된다.
+ */
+@Entity
+@Table(name = "confirmed_seats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_confirmed_seats_match_seat", columnNames = {"match_id", "seat_id"}),
+        indexes = @Index(name = "idx_confirmed_seats_match_user", columnList = "match_id, user_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConfirmedSeat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "match_id", nullable = false)
+    private Long matchId;
+
+    @Column(name = "seat_id", nullable = false, length = 32)
+    private String seatId;
+
+    @Column(name = "section_id", length = 32)
+    private String sectionId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "confirmed_at", nullable = false)
+    private LocalDateTime confirmedAt;
+}
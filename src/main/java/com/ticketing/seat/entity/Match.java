@@ -5,7 +5,7 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "matches")
+@Table(name = "matches", indexes = @Index(name = "idx_matches_update_at", columnList = "update_at"))
 @Getter
 @Setter
 @NoArgsConstructor
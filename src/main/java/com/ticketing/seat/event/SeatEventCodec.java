@@ -0,0 +1,168 @@
+package com.ticketing.seat.event;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 좌석 이벤트 바이너리 포맷.
+ *
+ * [magic 0xC5][version][type][flags][필드...]
+ *   - 정수는 unsigned varint (ID, 시각, 소요 시간 모두 음수가 아니다)
+ *   - 문자열은 varint 길이 + UTF-8, 목록은 varint 개수 + 원소
+ *   - flags: null 필드 표시와 success 값
+ *
+ * 필드를 추가할 때는 VERSION을 올리고 decode에서 이전 버전도 계속 읽을 수 있게 한다.
+ * JSON 메시지는 항상 '{'(0x7B)로 시작하므로 magic 바이트로 두 형식을 구분한다.
+ */
+public final class SeatEventCodec {
+
+    public static final byte MAGIC = (byte) 0xC5;
+    public static final byte VERSION = 1;
+
+    static final byte TYPE_SEAT_CONFIRMATION = 1;
+
+    private static final int FLAG_SUCCESS = 1;
+    private static final int FLAG_USER_ID = 1 << 1;
+    private static final int FLAG_MATCH_ID = 1 << 2;
+    private static final int FLAG_SEAT_IDS = 1 << 3;
+    private static final int FLAG_SECTION_IDS = 1 << 4;
+    private static final int FLAG_MESSAGE = 1 << 5;
+
+    private SeatEventCodec() {
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(SeatConfirmationEvent event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.write(TYPE_SEAT_CONFIRMATION);
+
+        int flags = 0;
+        if (event.isSuccess()) flags |= FLAG_SUCCESS;
+        if (event.getUserId() != null) flags |= FLAG_USER_ID;
+        if (event.getMatchId() != null) flags |= FLAG_MATCH_ID;
+        if (event.getSeatIds() != null) flags |= FLAG_SEAT_IDS;
+        if (event.getSectionIds() != null) flags |= FLAG_SECTION_IDS;
+        if (event.getMessage() != null) flags |= FLAG_MESSAGE;
+        out.write(flags);
+
+        if (event.getUserId() != null) writeVarLong(out, event.getUserId());
+        if (event.getMatchId() != null) writeVarLong(out, event.getMatchId());
+        writeVarLong(out, event.getTimestamp());
+        writeVarLong(out, event.getSelectionDurationMs());
+        if (event.getSeatIds() != null) writeStrings(out, event.getSeatIds());
+        if (event.getSectionIds() != null) writeStrings(out, event.getSectionIds());
+        if (event.getMessage() != null) writeString(out, event.getMessage());
+
+        return out.toByteArray();
+    }
+
+    public static SeatConfirmationEvent decode(byte[] data) {
+        Reader in = new Reader(data);
+        if (in.readByte() != MAGIC) {
+            throw new SerializationException("Not a binary seat event");
+        }
+        int version = in.readByte();
+        if (version < 1 || version > VERSION) {
+            throw new SerializationException("Unsupported seat event version: " + version);
+        }
+        int type = in.readByte();
+        if (type != TYPE_SEAT_CONFIRMATION) {
+            throw new SerializationException("Unsupported seat event type: " + type);
+        }
+
+        int flags = in.readByte();
+        SeatConfirmationEvent.SeatConfirmationEventBuilder event = SeatConfirmationEvent.builder()
+                .success((flags & FLAG_SUCCESS) != 0);
+        if ((flags & FLAG_USER_ID) != 0) event.userId(in.readVarLong());
+        if ((flags & FLAG_MATCH_ID) != 0) event.matchId(in.readVarLong());
+        event.timestamp(in.readVarLong());
+        event.selectionDurationMs(in.readVarLong());
+        if ((flags & FLAG_SEAT_IDS) != 0) event.seatIds(in.readStrings());
+        if ((flags & FLAG_SECTION_IDS) != 0) event.sectionIds(in.readStrings());
+        if ((flags & FLAG_MESSAGE) != 0) event.message(in.readString());
+        return event.build();
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        if (value < 0) {
+            throw new SerializationException("Negative value cannot be encoded: " + value);
+        }
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeStrings(ByteArrayOutputStream out, List<String> values) {
+        writeVarLong(out, values.size());
+        for (String value : values) {
+            writeString(out, value == null ? "" : value);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        private byte readByte() {
+            if (pos >= data.length) {
+                throw new SerializationException("Truncated seat event");
+            }
+            return data[pos++];
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in seat event");
+        }
+
+        private String readString() {
+            int length = (int) readVarLong();
+            if (length < 0 || pos + length > data.length) {
+                throw new SerializationException("Truncated seat event");
+            }
+            String value = new String(data, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        private List<String> readStrings() {
+            int count = (int) readVarLong();
+            if (count < 0 || count > data.length) {
+                throw new SerializationException("Malformed list in seat event");
+            }
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+    }
+}
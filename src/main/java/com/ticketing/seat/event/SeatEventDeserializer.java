@@ -0,0 +1,44 @@
+package com.ticketing.seat.event;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+/**
+ * 좌석 이벤트 역직렬화.
+ * 첫 바이트가 SeatEventCodec.MAGIC이면 바이너리, 아니면 이전 JSON 메시지로 읽는다.
+ * (바이너리 전환 전에 쌓인 메시지와 JSON으로 보내는 노드가 섞여 있어도 처리된다)
+ */
+public class SeatEventDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<SeatConfirmationEvent> jsonDeserializer =
+            new JsonDeserializer<>(SeatConfirmationEvent.class, false);
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        // JSON 경로는 타입 헤더 없이 SeatConfirmationEvent로 고정한다
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (SeatEventCodec.isBinary(data)) {
+            return SeatEventCodec.decode(data);
+        }
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        return deserialize(topic, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
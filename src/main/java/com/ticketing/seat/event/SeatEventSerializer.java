@@ -0,0 +1,42 @@
+package com.ticketing.seat.event;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+/**
+ * 좌석 이벤트는 SeatEventCodec 바이너리로, 그 외 값은 JSON으로 직렬화한다.
+ * 바이너리 메시지에는 타입 헤더를 붙이지 않는다.
+ */
+public class SeatEventSerializer implements Serializer<Object> {
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data instanceof SeatConfirmationEvent event) {
+            return SeatEventCodec.encode(event);
+        }
+        return jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data instanceof SeatConfirmationEvent event) {
+            return SeatEventCodec.encode(event);
+        }
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
@@ -0,0 +1,350 @@
+package com.ticketing.seat.event;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 좌석 확정 이벤트 로컬 스풀 (메모리 매핑 append-only 파일).
+ *
+ * 확정 경로는 append()로 페이지 캐시에 쓰고 바로 리턴한다. 카프카 전송은 SeatEventSpoolDrainer가 순서대로 한다.
+ *
+ *   segment  spool-{seq}.log, 크기 segmentBytes 고정. 가득 차면 다음 seq로 넘어간다.
+ *   record   [len int][crc32c int][payload = SeatEventCodec 바이너리]
+ *            len을 마지막에 써서 len > 0 이고 crc가 맞는 레코드만 완전한 레코드로 본다.
+ *   checkpoint  [segment long][offset int][crc int] 전송이 끝난 위치. 이보다 앞선 세그먼트는 지운다.
+ *
+ * 재시작하면 세그먼트를 처음부터 훑어 마지막 완전한 레코드 뒤를 쓰기 위치로 잡고,
+ * checkpoint 이후 레코드를 다시 보낸다. (at-least-once: 전송 직후 checkpoint 전에 죽으면 중복 전송)
+ *
+ * 프로세스가 죽어도 페이지 캐시에 쓴 내용은 남는다. OS 장애까지 견디려면 drainer의 주기적 flush(force) 이후 분만 보장된다.
+ * 전송되지 않은 세그먼트가 maxSegments를 넘으면 append가 실패하고 호출자는 직접 전송으로 돌아간다.
+ *
+ * ticketing.event-spool.enabled=true 일 때만 동작한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ticketing.event-spool.enabled", havingValue = "true")
+public class SeatEventSpool {
+
+    private static final int HEADER_BYTES = 8;
+    private static final int CHECKPOINT_BYTES = 16;
+    private static final String SEGMENT_PREFIX = "spool-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final MappedByteBuffer checkpoint;
+    private volatile Segment active;
+
+    // 전송 완료 위치 (drainer 스레드만 쓴다)
+    private volatile long committedSegment;
+    private volatile int committedOffset;
+
+    public SeatEventSpool(MeterRegistry registry,
+                          @Value("${ticketing.event-spool.dir:./data/event-spool}") String dir,
+                          @Value("${ticketing.event-spool.segment-bytes:67108864}") int segmentBytes,
+                          @Value("${ticketing.event-spool.max-segments:16}") int maxSegments) {
+        this.dir = Path.of(dir);
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = Math.max(2, maxSegments);
+        try {
+            Files.createDirectories(this.dir);
+            this.checkpoint = map(this.dir.resolve("checkpoint"), CHECKPOINT_BYTES);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open event spool: " + dir, e);
+        }
+
+        Gauge.builder("ticketing.spool.pending_bytes", this, SeatEventSpool::pendingBytes)
+                .description("카프카로 아직 보내지 않은 스풀 크기")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * 이벤트 1건 기록. 스풀이 가득 찼거나 파일을 만들 수 없으면 예외를 던진다.
+     */
+    public void append(SeatConfirmationEvent event) {
+        byte[] payload = SeatEventCodec.encode(event);
+        int size = HEADER_BYTES + payload.length;
+        if (size > segmentBytes) {
+            throw new IllegalArgumentException("Event too large for spool segment: " + size);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        appendLock.lock();
+        try {
+            Segment segment = active;
+            if (segment.writePosition + size > segment.capacity()) {
+                segment = roll();
+            }
+            int position = segment.writePosition;
+            segment.buffer.putInt(position + 4, (int) crc.getValue());
+            segment.buffer.put(position + HEADER_BYTES, payload);
+            segment.buffer.putInt(position, payload.length);
+            segment.writePosition = position + size;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * checkpoint 이후 레코드를 최대 max건 읽는다. 위치는 commit()으로만 옮겨진다.
+     * (drainer 스레드 하나에서만 호출)
+     */
+    public List<Entry> read(int max) {
+        List<Entry> entries = new ArrayList<>(Math.min(max, 1024));
+        long seq = committedSegment;
+        int offset = committedOffset;
+
+        while (entries.size() < max) {
+            Segment segment = segments.get(seq);
+            if (segment == null) {
+                Long next = segments.higherKey(seq);
+                if (next == null) {
+                    break;
+                }
+                seq = next;
+                offset = 0;
+                continue;
+            }
+
+            // sealed를 먼저 읽어야 그 뒤에 읽은 writePosition이 최종 값임이 보장된다
+            boolean sealed = segment.sealed;
+            int limit = segment.writePosition;
+            if (offset + HEADER_BYTES <= limit) {
+                int length = segment.buffer.getInt(offset);
+                int end = offset + HEADER_BYTES + length;
+                if (length > 0 && end <= limit) {
+                    byte[] payload = new byte[length];
+                    segment.buffer.get(offset + HEADER_BYTES, payload);
+                    int expectedCrc = segment.buffer.getInt(offset + 4);
+                    offset = end;
+                    // 읽을 수 없는 레코드도 건너뛴 위치를 commit 할 수 있게 event = null 로 넘긴다
+                    entries.add(new Entry(seq, offset, decode(seq, offset, payload, expectedCrc)));
+                    continue;
+                }
+            }
+
+            if (!sealed) {
+                break;  // 쓰는 중인 세그먼트의 끝
+            }
+            Long next = segments.higherKey(seq);
+            if (next == null) {
+                break;
+            }
+            seq = next;
+            offset = 0;
+        }
+        return entries;
+    }
+
+    /**
+     * entry까지 전송이 끝났음을 기록하고, 다 보낸 세그먼트 파일을 지운다.
+     */
+    public void commit(Entry entry) {
+        checkpoint.putLong(0, entry.segment);
+        checkpoint.putInt(8, entry.nextOffset);
+        checkpoint.putInt(12, checkpointCrc(entry.segment, entry.nextOffset));
+        committedSegment = entry.segment;
+        committedOffset = entry.nextOffset;
+
+        for (Map.Entry<Long, Segment> drained : segments.headMap(entry.segment).entrySet()) {
+            segments.remove(drained.getKey());
+            try {
+                Files.deleteIfExists(drained.getValue().path);
+            } catch (IOException e) {
+                log.warn("Unable to delete drained spool segment {}: {}", drained.getValue().path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 아직 보내지 않은 세그먼트와 checkpoint를 디스크에 내린다. (이미 내린 페이지는 비용이 거의 없다)
+     */
+    public void flush() {
+        for (Segment segment : segments.tailMap(committedSegment).values()) {
+            segment.buffer.force();
+        }
+        checkpoint.force();
+    }
+
+    public long pendingBytes() {
+        long pending = 0;
+        for (Segment segment : segments.tailMap(committedSegment).values()) {
+            pending += segment.writePosition;
+        }
+        return segments.containsKey(committedSegment) ? Math.max(0, pending - committedOffset) : pending;
+    }
+
+    private SeatConfirmationEvent decode(long seq, int nextOffset, byte[] payload, int expectedCrc) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        if ((int) crc.getValue() != expectedCrc) {
+            log.error("Skipping corrupt spool record: segment={}, end={}", seq, nextOffset);
+            return null;
+        }
+        try {
+            return SeatEventCodec.decode(payload);
+        } catch (SerializationException e) {
+            log.error("Skipping undecodable spool record: segment={}, end={}, error={}", seq, nextOffset, e.getMessage());
+            return null;
+        }
+    }
+
+    private Segment roll() {
+        if (segments.size() >= maxSegments) {
+            throw new IllegalStateException("Event spool is full: segments=" + segments.size());
+        }
+        Segment previous = active;
+        Segment next = openSegment(previous.seq + 1);
+        segments.put(next.seq, next);
+        active = next;
+        previous.sealed = true;
+        return next;
+    }
+
+    private Segment openSegment(long seq) {
+        Path path = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, seq, SEGMENT_SUFFIX));
+        try {
+            return new Segment(seq, path, map(path, segmentBytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create spool segment: " + path, e);
+        }
+    }
+
+    /**
+     * 기존 세그먼트를 열어 쓰기 위치(마지막 완전한 레코드 뒤)를 찾고, checkpoint를 읽는다.
+     */
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path path : files) {
+            String name = path.getFileName().toString();
+            long seq = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            Segment segment = new Segment(seq, path, map(path, (int) Math.max(Files.size(path), segmentBytes)));
+            segment.writePosition = scanEnd(segment);
+            segment.sealed = true;
+            segments.put(seq, segment);
+        }
+
+        if (segments.isEmpty()) {
+            Segment first = openSegment(1);
+            segments.put(first.seq, first);
+        }
+        active = segments.lastEntry().getValue();
+        active.sealed = false;
+
+        long seq = checkpoint.getLong(0);
+        int offset = checkpoint.getInt(8);
+        if (checkpoint.getInt(12) == checkpointCrc(seq, offset) && (seq != 0 || offset != 0)) {
+            committedSegment = seq;
+            committedOffset = offset;
+        } else {
+            committedSegment = segments.firstKey();
+            committedOffset = 0;
+        }
+        log.info("Event spool opened: dir={}, segments={}, pendingBytes={}", dir, segments.size(), pendingBytes());
+    }
+
+    private int scanEnd(Segment segment) {
+        int position = 0;
+        int capacity = segment.capacity();
+        while (position + HEADER_BYTES <= capacity) {
+            int length = segment.buffer.getInt(position);
+            int end = position + HEADER_BYTES + length;
+            if (length <= 0 || end > capacity) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            segment.buffer.get(position + HEADER_BYTES, payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != segment.buffer.getInt(position + 4)) {
+                break;  // 쓰다 만 레코드
+            }
+            position = end;
+        }
+        return position;
+    }
+
+    private static int checkpointCrc(long seq, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(12).putLong(seq).putInt(offset).flip());
+        return (int) crc.getValue();
+    }
+
+    private static MappedByteBuffer map(Path path, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * 읽은 레코드와 그 다음 위치 (commit에 그대로 넘긴다). 손상된 레코드면 event는 null.
+     */
+    public static final class Entry {
+        private final long segment;
+        private final int nextOffset;
+        private final SeatConfirmationEvent event;
+
+        private Entry(long segment, int nextOffset, SeatConfirmationEvent event) {
+            this.segment = segment;
+            this.nextOffset = nextOffset;
+            this.event = event;
+        }
+
+        public SeatConfirmationEvent getEvent() {
+            return event;
+        }
+    }
+
+    private static final class Segment {
+        private final long seq;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private volatile int writePosition;
+        private volatile boolean sealed;
+
+        private Segment(long seq, Path path, MappedByteBuffer buffer) {
+            this.seq = seq;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        private int capacity() {
+            return buffer.capacity();
+        }
+    }
+}
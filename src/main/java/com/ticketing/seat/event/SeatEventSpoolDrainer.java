@@ -0,0 +1,145 @@
+package com.ticketing.seat.event;
+
+import com.ticketing.seat.service.EventPublisherService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 스풀(SeatEventSpool)에 쌓인 이벤트를 카프카로 순서대로 보낸다.
+ *
+ * - 최대 batchSize건을 보내고 ack를 앞에서부터 기다린다. 처음 실패한 레코드 직전까지만 commit 한다.
+ * - 실패하면 backoff(100ms부터 두 배씩, 최대 maxBackoffMs) 후 실패한 레코드부터 다시 보낸다.
+ *   그 뒤 레코드 중 이미 전송된 것은 다시 보내질 수 있다. (at-least-once)
+ * - 브로커 대기 중에도 요청 스레드를 막지 않도록 전용 스레드 하나에서 돈다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ticketing.event-spool.enabled", havingValue = "true")
+public class SeatEventSpoolDrainer {
+
+    private static final long MIN_BACKOFF_MS = 100;
+
+    private final SeatEventSpool spool;
+    private final EventPublisherService eventPublisherService;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long idleMs;
+    private final long flushIntervalMs;
+    private final long maxBackoffMs;
+
+    private volatile boolean running;
+    private Thread worker;
+    private long lastFlushAt;
+
+    public SeatEventSpoolDrainer(SeatEventSpool spool,
+                                 EventPublisherService eventPublisherService,
+                                 @Value("${ticketing.event-spool.batch-size:500}") int batchSize,
+                                 @Value("${ticketing.event-spool.send-timeout-ms:10000}") long sendTimeoutMs,
+                                 @Value("${ticketing.event-spool.idle-ms:20}") long idleMs,
+                                 @Value("${ticketing.event-spool.flush-interval-ms:1000}") long flushIntervalMs,
+                                 @Value("${ticketing.event-spool.max-backoff-ms:5000}") long maxBackoffMs) {
+        this.spool = spool;
+        this.eventPublisherService = eventPublisherService;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.idleMs = idleMs;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("seat-event-spool-drainer").start(this::run);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        worker.join(sendTimeoutMs + idleMs);
+        spool.flush();
+    }
+
+    private void run() {
+        long backoff = MIN_BACKOFF_MS;
+        while (running) {
+            try {
+                flushIfDue();
+                int sent = drainOnce();
+                backoff = MIN_BACKOFF_MS;
+                if (sent == 0) {
+                    Thread.sleep(idleMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Spool drain failed, retrying in {}ms: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, maxBackoffMs);
+            }
+        }
+    }
+
+    /**
+     * @return commit 한 레코드 수
+     */
+    int drainOnce() throws InterruptedException {
+        List<SeatEventSpool.Entry> entries = spool.read(batchSize);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(entries.size());
+        for (SeatEventSpool.Entry entry : entries) {
+            futures.add(entry.getEvent() == null
+                    ? CompletableFuture.completedFuture(null)
+                    : eventPublisherService.send(entry.getEvent()));
+        }
+
+        int acked = 0;
+        Exception failure = null;
+        for (CompletableFuture<SendResult<String, Object>> future : futures) {
+            try {
+                future.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                acked++;
+            } catch (ExecutionException | TimeoutException e) {
+                failure = e;
+                break;
+            }
+        }
+
+        if (acked > 0) {
+            spool.commit(entries.get(acked - 1));
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Sent " + acked + "/" + entries.size() + " spooled events", failure);
+        }
+        return acked;
+    }
+
+    private void flushIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastFlushAt >= flushIntervalMs) {
+            spool.flush();
+            lastFlushAt = now;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.ticketing.seat.layout;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 홀 좌석 배치.
+ * 좌석 ID("A-12")를 0부터 시작하는 연속 인덱스로 변환한다.
+ * 번호에는 '-'가 없으므로 구역은 마지막 '-' 앞부분이다. (구역 이름에 '-'가 있어도 된다: "VIP-A-3")
+ *   index = sectionIndex * seatsPerSection + (seatNumber - 1)
+ *
+ * 구역 안의 좌석은 seatsPerRow개씩 한 열(row)이다. (1~20번이 첫 열, 21~40번이 둘째 열 ...)
+ * 열 번호는 홀 전체에서 연속이다: row = sectionIndex * rowsPerSection + (seatNumber - 1) / seatsPerRow
+ *
+ * 구역마다 등급(grade)과 가격 등급(priceTier)을 가진다. 좌석 ID 문자열은 만들 때 미리 만들어 두므로
+ * 조회 메서드는 할당 없이 동작한다. 만든 뒤에는 바뀌지 않는다. (HallLayoutCatalog가 공유)
+ *
+ * 비트맵 좌석 저장소처럼 좌석을 정수 위치로 다뤄야 하는 곳에서 사용한다.
+ */
+public class HallLayout {
+
+    public static final String UNKNOWN_GRADE = "UNKNOWN";
+
+    // 한 열의 좌석 점유 상태를 long 하나로 다루므로 열 너비는 64 이하
+    public static final int MAX_SEATS_PER_ROW = 64;
+
+    private final String[] sections;
+    private final String[] grades;
+    private final int[] priceTiers;
+    private final int seatsPerSection;
+    private final int seatsPerRow;
+    private final int rowsPerSection;
+    private final String[] seatIds;
+    private final String sectionList;
+
+    public HallLayout(List<String> sections, List<String> grades, int[] priceTiers,
+                      int seatsPerSection, int seatsPerRow) {
+        if (sections.isEmpty() || grades.size() != sections.size() || priceTiers.length != sections.size()
+                || seatsPerSection <= 0 || seatsPerRow <= 0 || seatsPerRow > MAX_SEATS_PER_ROW) {
+            throw new IllegalArgumentException("Invalid hall layout: sections=" + sections + ", grades=" + grades
+                    + ", seatsPerSection=" + seatsPerSection + ", seatsPerRow=" + seatsPerRow);
+        }
+        this.sections = sections.toArray(new String[0]);
+        this.grades = grades.toArray(new String[0]);
+        this.priceTiers = priceTiers.clone();
+        this.seatsPerSection = seatsPerSection;
+        this.seatsPerRow = Math.min(seatsPerRow, seatsPerSection);
+        this.rowsPerSection = (seatsPerSection + this.seatsPerRow - 1) / this.seatsPerRow;
+        this.sectionList = String.join(",", sections);
+        this.seatIds = new String[this.sections.length * seatsPerSection];
+        for (int i = 0; i < seatIds.length; i++) {
+            seatIds[i] = this.sections[i / seatsPerSection] + "-" + (i % seatsPerSection + 1);
+        }
+    }
+
+    public int capacity() {
+        return sections.length * seatsPerSection;
+    }
+
+    public int seatsPerSection() {
+        return seatsPerSection;
+    }
+
+    /**
+     * 쉼표로 이은 구역 목록 (스크립트 인자용, "A,B,C,D")
+     */
+    public String sectionList() {
+        return sectionList;
+    }
+
+    public int sectionCount() {
+        return sections.length;
+    }
+
+    public String sectionAt(int sectionIdx) {
+        return sections[sectionIdx];
+    }
+
+    /**
+     * 좌석 인덱스 -> 구역 인덱스
+     */
+    public int sectionOf(int index) {
+        return index / seatsPerSection;
+    }
+
+    /**
+     * 구역 등급 (없으면 UNKNOWN_GRADE)
+     */
+    public String gradeOfSection(int sectionIdx) {
+        return grades[sectionIdx];
+    }
+
+    public int priceTierOfSection(int sectionIdx) {
+        return priceTiers[sectionIdx];
+    }
+
+    public String gradeAt(int index) {
+        return grades[index / seatsPerSection];
+    }
+
+    public int priceTierAt(int index) {
+        return priceTiers[index / seatsPerSection];
+    }
+
+    /**
+     * 구역 ID -> 구역 인덱스 (없으면 -1)
+     */
+    public int sectionIndexOf(String sectionId) {
+        for (int i = 0; i < sections.length; i++) {
+            if (sections[i].equals(sectionId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int rowsPerSection() {
+        return rowsPerSection;
+    }
+
+    public int rowCount() {
+        return sections.length * rowsPerSection;
+    }
+
+    /**
+     * 좌석 인덱스 -> 열 번호
+     */
+    public int rowOf(int index) {
+        int section = index / seatsPerSection;
+        return section * rowsPerSection + (index % seatsPerSection) / seatsPerRow;
+    }
+
+    /**
+     * 좌석 인덱스 -> 열 안의 위치 (0부터)
+     */
+    public int positionInRow(int index) {
+        return (index % seatsPerSection) % seatsPerRow;
+    }
+
+    /**
+     * 열의 첫 좌석 인덱스
+     */
+    public int rowStart(int row) {
+        int section = row / rowsPerSection;
+        return section * seatsPerSection + (row % rowsPerSection) * seatsPerRow;
+    }
+
+    /**
+     * 열의 좌석 수 (구역 마지막 열은 짧을 수 있다)
+     */
+    public int rowWidth(int row) {
+        int rowInSection = row % rowsPerSection;
+        return Math.min(seatsPerRow, seatsPerSection - rowInSection * seatsPerRow);
+    }
+
+    /**
+     * 좌석 ID -> 인덱스 (배치에 없는 좌석이면 -1)
+     */
+    public int indexOf(String seatId) {
+        int dash = seatId.lastIndexOf('-');
+        if (dash <= 0 || dash == seatId.length() - 1) {
+            return -1;
+        }
+
+        int sectionIdx = sectionIndex(seatId, dash);
+        if (sectionIdx < 0) {
+            return -1;
+        }
+
+        int number = 0;
+        for (int i = dash + 1; i < seatId.length(); i++) {
+            char c = seatId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+            if (number > seatsPerSection) {
+                return -1;
+            }
+        }
+        if (number < 1) {
+            return -1;
+        }
+        return sectionIdx * seatsPerSection + (number - 1);
+    }
+
+    /**
+     * 인덱스 -> 좌석 ID
+     */
+    public String seatIdAt(int index) {
+        if (index < 0 || index >= seatIds.length) {
+            throw new IndexOutOfBoundsException("Seat index out of range: " + index);
+        }
+        return seatIds[index];
+    }
+
+    private int sectionIndex(String seatId, int dash) {
+        for (int i = 0; i < sections.length; i++) {
+            String section = sections[i];
+            if (section.length() == dash && seatId.startsWith(section)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "HallLayout{sections=" + Arrays.toString(sections) + ", grades=" + Arrays.toString(grades)
+                + ", seatsPerSection=" + seatsPerSection
+                + ", seatsPerRow=" + seatsPerRow + "}";
+    }
+}
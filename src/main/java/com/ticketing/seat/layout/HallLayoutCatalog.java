@@ -0,0 +1,103 @@
+package com.ticketing.seat.layout;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 룸(Match.roomId)별 홀 좌석 배치 카탈로그.
+ *
+ * 룸 배치는 설정으로 정의한다:
+ *   ticketing.hall.rooms.{roomId}.sections          = VIP:VIP:1,A:R:2,B:S:3   (구역[:등급[:가격 등급]])
+ *   ticketing.hall.rooms.{roomId}.seats-per-section = 100  (없으면 ticketing.hall.seats-per-section)
+ *   ticketing.hall.rooms.{roomId}.seats-per-row     = 20   (없으면 ticketing.hall.seats-per-row)
+ *
+ * - ticketing.hall.preload-rooms 에 적은 룸은 기동 시 미리 만든다. (설정 오류를 기동 시점에 드러냄)
+ *   나머지는 처음 쓰일 때 만든다. 만든 배치는 불변이며 모든 요청이 공유한다.
+ * - 정의가 없는 룸은 기본 배치(ticketing.hall.sections)를 쓴다.
+ */
+@Slf4j
+@Component
+public class HallLayoutCatalog {
+
+    private static final String ROOM_PREFIX = "ticketing.hall.rooms.";
+
+    private final Environment environment;
+    private final HallLayout defaultLayout;
+    private final int defaultSeatsPerSection;
+    private final int defaultSeatsPerRow;
+    private final List<Long> preloadRooms;
+    private final Map<Long, HallLayout> layouts = new ConcurrentHashMap<>();
+
+    public HallLayoutCatalog(Environment environment,
+                             @Value("${ticketing.hall.sections:A,B,C,D}") String sections,
+                             @Value("${ticketing.hall.seats-per-section:100}") int seatsPerSection,
+                             @Value("${ticketing.hall.seats-per-row:20}") int seatsPerRow,
+                             @Value("${ticketing.hall.preload-rooms:}") List<Long> preloadRooms) {
+        this.environment = environment;
+        this.defaultSeatsPerSection = seatsPerSection;
+        this.defaultSeatsPerRow = seatsPerRow;
+        this.defaultLayout = parse(sections, seatsPerSection, seatsPerRow);
+        this.preloadRooms = preloadRooms;
+    }
+
+    @PostConstruct
+    public void preload() {
+        for (Long roomId : preloadRooms) {
+            log.info("Preloaded hall layout: roomId={}, layout={}", roomId, layoutOf(roomId));
+        }
+    }
+
+    public HallLayout defaultLayout() {
+        return defaultLayout;
+    }
+
+    /**
+     * 룸 배치 조회 (roomId가 null이거나 정의가 없으면 기본 배치)
+     */
+    public HallLayout layoutOf(Long roomId) {
+        if (roomId == null) {
+            return defaultLayout;
+        }
+        // 설정 파싱만 하므로(I/O 없음) computeIfAbsent 안에서 만들어도 된다
+        return layouts.computeIfAbsent(roomId, this::load);
+    }
+
+    private HallLayout load(Long roomId) {
+        String prefix = ROOM_PREFIX + roomId + ".";
+        String sections = environment.getProperty(prefix + "sections");
+        if (sections == null || sections.isBlank()) {
+            return defaultLayout;
+        }
+        return parse(sections,
+                environment.getProperty(prefix + "seats-per-section", Integer.class, defaultSeatsPerSection),
+                environment.getProperty(prefix + "seats-per-row", Integer.class, defaultSeatsPerRow));
+    }
+
+    /**
+     * "VIP:VIP:1,A:R:2,B" -> 구역 VIP(등급 VIP, 가격 1), A(R, 2), B(UNKNOWN, 0)
+     */
+    static HallLayout parse(String spec, int seatsPerSection, int seatsPerRow) {
+        List<String> sections = new ArrayList<>();
+        List<String> grades = new ArrayList<>();
+        List<Integer> tiers = new ArrayList<>();
+        for (String token : spec.split(",")) {
+            String[] parts = token.trim().split(":");
+            if (parts[0].isEmpty()) {
+                continue;
+            }
+            sections.add(parts[0]);
+            grades.add(parts.length > 1 && !parts[1].isEmpty() ? parts[1] : HallLayout.UNKNOWN_GRADE);
+            tiers.add(parts.length > 2 ? Integer.parseInt(parts[2]) : 0);
+        }
+        int[] priceTiers = tiers.stream().mapToInt(Integer::intValue).toArray();
+        return new HallLayout(sections, grades, priceTiers, seatsPerSection, seatsPerRow);
+    }
+}
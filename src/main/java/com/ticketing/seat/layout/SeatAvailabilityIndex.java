@@ -0,0 +1,177 @@
+package com.ticketing.seat.layout;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+/**
+ * 매치 하나의 열(row)별 빈 좌석 인덱스. (노드 로컬)
+ *
+ * 열마다 점유 비트를 long 하나에 담는다. (bit p = 열의 p번째 좌석, HallLayout 참고)
+ * 연속 n석 빈자리는 비트 연산으로 찾는다:
+ *   free = ~occupied & widthMask
+ *   runs = free & (free >>> 1) & ... & (free >>> (n-1))   // bit p = p..p+n-1 모두 빈자리
+ *
+ * - 앞 열, 열 가운데에 가까운 자리부터 후보로 두고 상위 후보 중 하나를 무작위로 골라 CAS로 표시한다.
+ *   여러 요청(여러 노드)이 같은 "최적" 좌석으로 몰려 서로 충돌하는 것을 줄이기 위함이다.
+ * - Redis가 원본이다. 이 인덱스는 후보를 고르는 용도이며 실제 선점은 Redis 스크립트가 판단한다.
+ */
+public final class SeatAvailabilityIndex {
+
+    private static final int CANDIDATES = 8;
+    // 후보를 모두 다른 요청에 뺏겼을 때 다시 찾는 횟수
+    private static final int MAX_ROUNDS = 3;
+
+    private final HallLayout layout;
+    private final AtomicLongArray occupied;
+    private final long[] widthMasks;
+    private final Map<String, long[]> filterMasks = new ConcurrentHashMap<>();
+
+    public SeatAvailabilityIndex(HallLayout layout) {
+        this.layout = layout;
+        this.occupied = new AtomicLongArray(layout.rowCount());
+        this.widthMasks = new long[layout.rowCount()];
+        for (int row = 0; row < widthMasks.length; row++) {
+            int width = layout.rowWidth(row);
+            widthMasks[row] = width == Long.SIZE ? -1L : (1L << width) - 1;
+        }
+    }
+
+    public HallLayout layout() {
+        return layout;
+    }
+
+    public void occupy(int index) {
+        occupied.getAndAccumulate(layout.rowOf(index), 1L << layout.positionInRow(index), (cur, bit) -> cur | bit);
+    }
+
+    public void release(int index) {
+        occupied.getAndAccumulate(layout.rowOf(index), 1L << layout.positionInRow(index), (cur, bit) -> cur & ~bit);
+    }
+
+    /**
+     * key별 좌석 필터(열별 허용 비트)를 한 번만 만들어 재사용한다. (예: 등급)
+     */
+    public long[] filterMask(String key, Function<String, long[]> builder) {
+        return filterMasks.computeIfAbsent(key, builder);
+    }
+
+    /**
+     * 허용 여부로 열별 비트 마스크를 만든다.
+     */
+    public long[] buildMask(IntPredicate allowed) {
+        long[] masks = new long[widthMasks.length];
+        for (int row = 0; row < masks.length; row++) {
+            int start = layout.rowStart(row);
+            int width = layout.rowWidth(row);
+            for (int p = 0; p < width; p++) {
+                if (allowed.test(start + p)) {
+                    masks[row] |= 1L << p;
+                }
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * [fromRow, toRow) 안에서 연속 count석 빈자리를 찾아 점유로 표시한다.
+     *
+     * @param allowed 열별 허용 비트 (null이면 전부 허용)
+     * @return 선택한 좌석 인덱스 (없으면 null)
+     */
+    public int[] claim(int fromRow, int toRow, int count, long[] allowed) {
+        if (count <= 0 || count > HallLayout.MAX_SEATS_PER_ROW) {
+            return null;
+        }
+        long[] scores = new long[CANDIDATES];
+        int[] rows = new int[CANDIDATES];
+        int[] positions = new int[CANDIDATES];
+
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            int found = collect(fromRow, toRow, count, allowed, scores, rows, positions);
+            if (found == 0) {
+                return null;
+            }
+            // 상위 후보를 무작위 순서로 시도한다
+            int offset = ThreadLocalRandom.current().nextInt(found);
+            for (int i = 0; i < found; i++) {
+                int c = (offset + i) % found;
+                if (tryClaim(rows[c], positions[c], count)) {
+                    int[] seats = new int[count];
+                    int start = layout.rowStart(rows[c]) + positions[c];
+                    for (int s = 0; s < count; s++) {
+                        seats[s] = start + s;
+                    }
+                    return seats;
+                }
+            }
+            // 모든 후보를 다른 요청이 먼저 가져갔으면 다시 찾는다
+        }
+        return null;
+    }
+
+    private boolean tryClaim(int row, int position, int count) {
+        long mask = (count == Long.SIZE ? -1L : (1L << count) - 1) << position;
+        while (true) {
+            long cur = occupied.get(row);
+            if ((cur & mask) != 0) {
+                return false;
+            }
+            if (occupied.compareAndSet(row, cur, cur | mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 점수가 낮은 순(앞 열, 가운데) 상위 CANDIDATES개를 모은다.
+     */
+    private int collect(int fromRow, int toRow, int count, long[] allowed,
+                        long[] scores, int[] rows, int[] positions) {
+        int found = 0;
+        int rowsPerSection = layout.rowsPerSection();
+        for (int row = fromRow; row < toRow; row++) {
+            int width = layout.rowWidth(row);
+            if (width < count) {
+                continue;
+            }
+            long free = ~occupied.get(row) & widthMasks[row];
+            if (allowed != null) {
+                free &= allowed[row];
+            }
+            long runs = free;
+            for (int i = 1; i < count && runs != 0; i++) {
+                runs &= free >>> i;
+            }
+            while (runs != 0) {
+                int p = Long.numberOfTrailingZeros(runs);
+                runs &= runs - 1;
+                // 열 가운데와 run 가운데의 거리 (반 좌석 단위)
+                long score = (long) (row % rowsPerSection) * 256 + Math.abs(2 * p + count - width);
+                found = insert(scores, rows, positions, found, score, row, p);
+            }
+        }
+        return found;
+    }
+
+    private static int insert(long[] scores, int[] rows, int[] positions, int found,
+                              long score, int row, int position) {
+        if (found == scores.length && score >= scores[found - 1]) {
+            return found;
+        }
+        int i = found == scores.length ? found - 1 : found;
+        while (i > 0 && scores[i - 1] > score) {
+            scores[i] = scores[i - 1];
+            rows[i] = rows[i - 1];
+            positions[i] = positions[i - 1];
+            i--;
+        }
+        scores[i] = score;
+        rows[i] = row;
+        positions[i] = position;
+        return Math.min(found + 1, scores.length);
+    }
+}
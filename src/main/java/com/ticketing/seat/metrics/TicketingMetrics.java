@@ -0,0 +1,332 @@
+package com.ticketing.seat.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 선점/확정/이벤트 파이프라인 메트릭.
+ * /actuator/metrics, /actuator/prometheus 로 노출된다.
+ *
+ * 모든 메트릭은 match_bucket(matchId % buckets) 태그를 단다.
+ * 매치 ID를 그대로 태그로 쓰면 매치 수만큼 시계열이 늘어나므로 버킷으로 묶는다.
+ *
+ * 선점/확정 단계(phase):
+ *   status_check : Redis 상태 확인 (near-cache)
+ *   db_lookup    : 매치 메타데이터 조회 (MatchMetaCache, 미스일 때만 MySQL)
+ *   lua          : Redis 스크립트 실행
+ *   response     : 응답 DTO 구성
+ * 요청 전체 시간과 Tomcat 대기 시간은 http.server.requests / tomcat.threads.* 와 비교해서 본다.
+ *
+ * 메트릭은 요청/이벤트마다 기록되므로 (버킷, 결과)별 미터를 처음 쓸 때 한 번만 등록해 두고 재사용한다.
+ * (요청마다 빌더/태그를 만들고 레지스트리를 조회하지 않는다)
+ * 두 스레드가 동시에 만들어도 레지스트리가 같은 미터를 돌려주므로 캐시 칸을 덮어써도 된다.
+ */
+@Component
+public class TicketingMetrics {
+
+    // 단계별 시간 배열(newPhaseTimes)의 인덱스
+    public static final int PHASE_STATUS_CHECK = 0;
+    public static final int PHASE_DB_LOOKUP = 1;
+    public static final int PHASE_LUA = 2;
+    public static final int PHASE_RESPONSE = 3;
+
+    private static final String[] PHASES = {"status_check", "db_lookup", "lua", "response"};
+
+    private final MeterRegistry registry;
+    private final int buckets;
+    // [결과 ordinal][버킷] (마지막 버킷은 matchId가 없는 요청)
+    private final RequestMeters[][] holdMeters;
+    private final RequestMeters[][] confirmMeters;
+    // [결과(성공/실패)][버킷] / [버킷] / [결과]
+    private final Timer[][] mongoWriteTimers;
+    private final Timer[] consumerLagTimers;
+    private final Timer[] statusSyncTimers = new Timer[2];
+    private final Map<String, KafkaSendMeters> kafkaSendMeters = new ConcurrentHashMap<>();
+    private final BatchWriteMeters mongoBulkWrite;
+    private final BatchWriteMeters seatPersist;
+    private Counter statusSyncScanned;
+    private Counter statusSyncCorrected;
+
+    public TicketingMetrics(MeterRegistry registry,
+                            @Value("${ticketing.metrics.match-buckets:16}") int buckets) {
+        this.registry = registry;
+        this.buckets = Math.max(1, buckets);
+        this.holdMeters = new RequestMeters[HoldOutcome.values().length][this.buckets + 1];
+        this.confirmMeters = new RequestMeters[ConfirmOutcome.values().length][this.buckets + 1];
+        this.mongoWriteTimers = new Timer[2][this.buckets + 1];
+        this.consumerLagTimers = new Timer[this.buckets + 1];
+        this.mongoBulkWrite = new BatchWriteMeters("ticketing.mongo.bulk_write", "확정 로그 MongoDB 벌크 저장",
+                "ticketing.mongo.bulk_write.documents", "벌크 저장 1회당 문서 수");
+        this.seatPersist = new BatchWriteMeters("ticketing.seat_persist.write", "확정 좌석 MySQL 배치 저장",
+                "ticketing.seat_persist.rows", "배치 저장 1회당 좌석 수");
+    }
+
+    /**
+     * 선점 요청 1건 기록
+     *
+     * @param phaseNanos PHASE_* 인덱스별 소요 시간 (실행되지 않은 단계는 0)
+     */
+    public void recordHold(Long matchId, HoldOutcome outcome, long totalNanos, long[] phaseNanos) {
+        int bucket = bucketIndex(matchId);
+        RequestMeters meters = holdMeters[outcome.ordinal()][bucket];
+        if (meters == null) {
+            meters = new RequestMeters("ticketing.hold", "선점 요청 결과별 건수", bucketTag(bucket), outcome.tag());
+            holdMeters[outcome.ordinal()][bucket] = meters;
+        }
+        meters.record(totalNanos, phaseNanos);
+    }
+
+    /**
+     * 확정 요청 1건 기록
+     */
+    public void recordConfirm(Long matchId, ConfirmOutcome outcome, long totalNanos, long[] phaseNanos) {
+        int bucket = bucketIndex(matchId);
+        RequestMeters meters = confirmMeters[outcome.ordinal()][bucket];
+        if (meters == null) {
+            meters = new RequestMeters("ticketing.confirm", "확정 요청 결과별 건수", bucketTag(bucket), outcome.tag());
+            confirmMeters[outcome.ordinal()][bucket] = meters;
+        }
+        meters.record(totalNanos, phaseNanos);
+    }
+
+    /**
+     * Kafka 전송 완료(ack 또는 실패)까지 걸린 시간
+     */
+    public void recordKafkaSend(String topic, Long matchId, boolean success, long nanos) {
+        int bucket = bucketIndex(matchId);
+        KafkaSendMeters meters = kafkaSendMeters.computeIfAbsent(topic, t -> new KafkaSendMeters());
+        Timer timer = meters.latency[outcomeIndex(success)][bucket];
+        if (timer == null) {
+            timer = Timer.builder("ticketing.kafka.send")
+                    .description("Kafka 전송 요청부터 ack까지")
+                    .tag("topic", topic)
+                    .tag("match_bucket", bucketTag(bucket))
+                    .tag("outcome", outcomeTag(success))
+                    .register(registry);
+            meters.latency[outcomeIndex(success)][bucket] = timer;
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        if (!success) {
+            Counter failures = meters.failures[bucket];
+            if (failures == null) {
+                failures = Counter.builder("ticketing.kafka.send.failures")
+                        .tag("topic", topic)
+                        .tag("match_bucket", bucketTag(bucket))
+                        .register(registry);
+                meters.failures[bucket] = failures;
+            }
+            failures.increment();
+        }
+    }
+
+    /**
+     * 이벤트 생성 시각부터 컨슈머가 받기까지 걸린 시간 (컨슈머 지연)
+     */
+    public void recordConsumerLag(Long matchId, long eventTimestampMillis) {
+        long lagMillis = Math.max(0, System.currentTimeMillis() - eventTimestampMillis);
+        int bucket = bucketIndex(matchId);
+        Timer timer = consumerLagTimers[bucket];
+        if (timer == null) {
+            timer = Timer.builder("ticketing.consumer.lag")
+                    .description("이벤트 생성부터 소비까지")
+                    .tag("match_bucket", bucketTag(bucket))
+                    .register(registry);
+            consumerLagTimers[bucket] = timer;
+        }
+        timer.record(lagMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * MongoDB 로그 저장 시간
+     */
+    public void recordMongoWrite(Long matchId, boolean success, long nanos) {
+        int bucket = bucketIndex(matchId);
+        Timer timer = mongoWriteTimers[outcomeIndex(success)][bucket];
+        if (timer == null) {
+            timer = Timer.builder("ticketing.mongo.write")
+                    .description("확정 로그 MongoDB 저장")
+                    .tag("match_bucket", bucketTag(bucket))
+                    .tag("outcome", outcomeTag(success))
+                    .register(registry);
+            mongoWriteTimers[outcomeIndex(success)][bucket] = timer;
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * MongoDB 벌크 저장 시간과 배치 크기 (배치 컨슈머)
+     */
+    public void recordMongoBulkWrite(int documents, boolean success, long nanos) {
+        mongoBulkWrite.record(success, nanos, documents);
+    }
+
+    /**
+     * 확정 좌석 MySQL 배치 저장 시간과 배치 크기 (ConfirmedSeatWriter)
+     */
+    public void recordSeatPersist(int rows, boolean success, long nanos) {
+        seatPersist.record(success, nanos, rows);
+    }
+
+    /**
+     * 매치 상태 동기화 1회 (MatchStatusSyncService)
+     *
+     * @param scanned   DB에서 읽은 변경 매치 수
+     * @param corrected Redis 값을 고친 매치 수
+     */
+    public void recordStatusSync(boolean success, int scanned, int corrected, long nanos) {
+        Timer timer = statusSyncTimers[outcomeIndex(success)];
+        if (timer == null) {
+            timer = Timer.builder("ticketing.status_sync")
+                    .description("매치 상태 증분 동기화 1회")
+                    .tag("outcome", outcomeTag(success))
+                    .register(registry);
+            statusSyncTimers[outcomeIndex(success)] = timer;
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        if (statusSyncScanned == null) {
+            statusSyncScanned = Counter.builder("ticketing.status_sync.scanned")
+                    .description("동기화에서 읽은 변경 매치 수")
+                    .register(registry);
+            statusSyncCorrected = Counter.builder("ticketing.status_sync.corrected")
+                    .description("동기화에서 Redis 상태를 고친 매치 수")
+                    .register(registry);
+        }
+        statusSyncScanned.increment(scanned);
+        statusSyncCorrected.increment(corrected);
+    }
+
+    /**
+     * 토픽 하나의 Kafka 전송 미터. [결과][버킷] / [버킷]
+     */
+    private final class KafkaSendMeters {
+
+        private final Timer[][] latency = new Timer[2][buckets + 1];
+        private final Counter[] failures = new Counter[buckets + 1];
+    }
+
+    /**
+     * 배치 저장 1회의 시간(결과별)과 배치 크기
+     */
+    private final class BatchWriteMeters {
+
+        private final String timerName;
+        private final String timerDescription;
+        private final String sizeName;
+        private final String sizeDescription;
+        private final Timer[] latency = new Timer[2];
+        private DistributionSummary size;
+
+        BatchWriteMeters(String timerName, String timerDescription, String sizeName, String sizeDescription) {
+            this.timerName = timerName;
+            this.timerDescription = timerDescription;
+            this.sizeName = sizeName;
+            this.sizeDescription = sizeDescription;
+        }
+
+        void record(boolean success, long nanos, int batchSize) {
+            Timer timer = latency[outcomeIndex(success)];
+            if (timer == null) {
+                timer = Timer.builder(timerName)
+                        .description(timerDescription)
+                        .tag("outcome", outcomeTag(success))
+                        .register(registry);
+                latency[outcomeIndex(success)] = timer;
+            }
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            if (size == null) {
+                size = DistributionSummary.builder(sizeName)
+                        .description(sizeDescription)
+                        .register(registry);
+            }
+            size.record(batchSize);
+        }
+    }
+
+    /**
+     * 선점/확정 요청 하나의 (버킷, 결과)에 해당하는 미터 묶음.
+     */
+    private final class RequestMeters {
+
+        private final Timer latency;
+        private final Timer[] phases = new Timer[PHASES.length];
+        private final Counter requests;
+
+        RequestMeters(String prefix, String requestsDescription, String bucket, String outcome) {
+            this.latency = Timer.builder(prefix + ".latency")
+                    .description("요청 전체 처리 시간")
+                    .tag("match_bucket", bucket)
+                    .tag("outcome", outcome)
+                    .register(registry);
+            for (int i = 0; i < PHASES.length; i++) {
+                phases[i] = Timer.builder(prefix + ".phase")
+                        .description("단계별 처리 시간")
+                        .tag("match_bucket", bucket)
+                        .tag("outcome", outcome)
+                        .tag("phase", PHASES[i])
+                        .register(registry);
+            }
+            this.requests = Counter.builder(prefix + ".requests")
+                    .description(requestsDescription)
+                    .tag("match_bucket", bucket)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+
+        void record(long totalNanos, long[] phaseNanos) {
+            latency.record(totalNanos, TimeUnit.NANOSECONDS);
+            for (int i = 0; i < phases.length && i < phaseNanos.length; i++) {
+                if (phaseNanos[i] > 0) {
+                    phases[i].record(phaseNanos[i], TimeUnit.NANOSECONDS);
+                }
+            }
+            requests.increment();
+        }
+    }
+
+    private int bucketIndex(Long matchId) {
+        return matchId == null ? buckets : Math.floorMod(matchId, buckets);
+    }
+
+    private String bucketTag(int bucketIndex) {
+        return bucketIndex == buckets ? "none" : String.valueOf(bucketIndex);
+    }
+
+    private static int outcomeIndex(boolean success) {
+        return success ? 0 : 1;
+    }
+
+    private static String outcomeTag(boolean success) {
+        return success ? "success" : "failure";
+    }
+
+    /**
+     * PHASE_* 인덱스로 채우는 단계별 시간 배열
+     */
+    public static long[] newPhaseTimes() {
+        return new long[PHASES.length];
+    }
+
+    public enum HoldOutcome {
+        SUCCESS, CONFLICT, NO_SEATS, CLOSED, INVALID, NOT_FOUND, TIMEOUT, ERROR;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    public enum ConfirmOutcome {
+        SUCCESS, CONFLICT, NOT_HELD, EXPIRED, DUPLICATE, CLOSED, INVALID, NOT_FOUND, ERROR;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+}
@@ -6,11 +6,18 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
 
+/**
+ * 좌석 확정 로그.
+ *
+ * 문서가 많이 쌓이므로 저장 필드명을 짧게 둔다. (자바 프로퍼티명은 그대로)
+ * matchId, success는 meta 하위 문서(m)로 묶어 time-series 컬렉션의 metaField로 쓴다.
+ * 컬렉션 생성/인덱스/보존 기간은 SeatConfirmationLogCollectionInitializer 참고.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,19 +28,44 @@ public class SeatConfirmationLog {
     @Id
     private String id;
 
+    @Field("m")
+    private Meta meta;
+
+    @Field("t")
+    private Date timestamp;
+
+    @Field("et")
     private String eventType;
+
+    @Field("u")
     private Long userId;
-    private Long matchId;
+
+    @Field("s")
     private List<String> seatIds;
+
+    @Field("sec")
     private List<String> sectionIds;
-    private String eventId;
-    private Date timestamp;
-    private boolean success;
+
+    @Field("msg")
     private String message;
 
     // 성능 통계 데이터
+    @Field("d")
     private Long selectionDurationMs;     // 좌석 선택에서 확정까지 걸린 시간
 
-    // 추가 정보 (클라이언트 IP, 브라우저 등)
-    private Map<String, Object> metadata;
-}
\ No newline at end of file
+    // 처리 노드 (시간대별 집계는 timestamp로 계산한다)
+    @Field("n")
+    private String processingNode;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Meta {
+
+        @Field("mid")
+        private Long matchId;
+
+        @Field("ok")
+        private boolean success;
+    }
+}
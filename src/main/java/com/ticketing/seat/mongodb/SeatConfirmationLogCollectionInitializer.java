@@ -0,0 +1,177 @@
+package com.ticketing.seat.mongodb;
+
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.TimeSeriesGranularity;
+import com.mongodb.client.model.TimeSeriesOptions;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * seat_confirmation_logs 컬렉션 생성, 인덱스, 보존 기간.
+ *
+ * - ticketing.mongo.logs.time-series=true 이고 컬렉션이 없으면 time-series 컬렉션으로 만든다.
+ *   (timeField = t, metaField = m{mid, ok}, 보존 기간은 expireAfterSeconds)
+ *   이미 일반 컬렉션이 있으면 바꾸지 않는다. 옮기려면 새 컬렉션으로 복사 후 이름을 바꾼다.
+ * - 일반 컬렉션이면 t에 TTL 인덱스를 걸어 보존 기간을 적용한다.
+ * - 보존 기간은 선택 사항이다. ticketing.mongo.logs.retention-days (기본 0 = 만료시키지 않음)
+ * - 짧은 필드명 이전 형식(matchId, success, timestamp ...)으로 저장된 문서는 기동 시 새 형식으로 옮긴다.
+ *   옮기지 않으면 저장소 쿼리에도, t 기준 TTL에도 걸리지 않는다. (ticketing.mongo.logs.migrate-legacy=false로 끌 수 있다)
+ *
+ * time-series 컬렉션은 _id 유일성을 보장하지 않는다. 그래서 StatisticsBatchEventConsumer의
+ * "토픽-파티션-오프셋" 문서 ID로 재전달을 걸러내는 멱등성이 time-series=true에서는 성립하지 않고,
+ * 배치가 재전달되면 같은 로그가 두 번 들어간다. (정확한 집계가 필요하면 _id 기준으로 중복을 걸러 센다)
+ */
+@Slf4j
+@Component
+public class SeatConfirmationLogCollectionInitializer {
+
+    static final String COLLECTION = "seat_confirmation_logs";
+    private static final String TTL_INDEX = "t_ttl";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean timeSeries;
+    private final long retentionSeconds;
+    private final boolean migrateLegacy;
+
+    public SeatConfirmationLogCollectionInitializer(MongoTemplate mongoTemplate,
+                                                    @Value("${ticketing.mongo.logs.time-series:false}") boolean timeSeries,
+                                                    @Value("${ticketing.mongo.logs.retention-days:0}") long retentionDays,
+                                                    @Value("${ticketing.mongo.logs.migrate-legacy:true}") boolean migrateLegacy) {
+        this.mongoTemplate = mongoTemplate;
+        this.timeSeries = timeSeries;
+        this.retentionSeconds = TimeUnit.DAYS.toSeconds(Math.max(0, retentionDays));
+        this.migrateLegacy = migrateLegacy;
+    }
+
+    @PostConstruct
+    void initialize() {
+        if (timeSeries && !mongoTemplate.collectionExists(COLLECTION)) {
+            createTimeSeriesCollection();
+        }
+
+        boolean isTimeSeries = isTimeSeriesCollection();
+        if (timeSeries && !isTimeSeries) {
+            log.warn("{} already exists as a regular collection; time-series mode is not applied", COLLECTION);
+        }
+        // 이전 형식 문서는 일반 컬렉션에만 있다 (time-series 컬렉션은 새 형식으로만 만든다)
+        if (migrateLegacy && !isTimeSeries) {
+            migrateLegacyDocuments();
+        }
+
+        IndexOperations indexOps = mongoTemplate.indexOps(COLLECTION);
+        indexOps.createIndex(new Index().on("m.mid", Sort.Direction.ASC).on("m.ok", Sort.Direction.ASC)
+                .on("t", Sort.Direction.ASC).named("match_success_time"));
+        indexOps.createIndex(new Index().on("u", Sort.Direction.ASC).on("t", Sort.Direction.ASC)
+                .named("user_time"));
+
+        if (isTimeSeries) {
+            applyCollectionRetention();
+        } else {
+            applyTtlIndex(indexOps);
+        }
+    }
+
+    /**
+     * 이전 형식 문서를 서버 쪽 파이프라인 업데이트 한 번으로 짧은 필드명 형식으로 옮긴다. (MongoDB 4.2+)
+     * 이미 옮긴 문서(m이 있는 문서)는 건드리지 않으므로 여러 노드가 동시에 돌려도 안전하다.
+     */
+    private void migrateLegacyDocuments() {
+        Document legacy = new Document("matchId", new Document("$exists", true))
+                .append("m", new Document("$exists", false));
+        List<Bson> pipeline = List.of(
+                new Document("$set", new Document()
+                        .append("m", new Document("mid", "$matchId").append("ok", "$success"))
+                        .append("t", "$timestamp")
+                        .append("et", "$eventType")
+                        .append("u", "$userId")
+                        .append("s", "$seatIds")
+                        .append("sec", "$sectionIds")
+                        .append("msg", "$message")
+                        .append("d", "$selectionDurationMs")
+                        .append("n", "$metadata.processingNode")),
+                new Document("$unset", List.of("matchId", "success", "timestamp", "eventType", "userId",
+                        "seatIds", "sectionIds", "message", "selectionDurationMs", "eventId", "metadata")));
+
+        long migrated = mongoTemplate.getCollection(COLLECTION).updateMany(legacy, pipeline).getModifiedCount();
+        if (migrated > 0) {
+            log.info("Migrated {} legacy documents in {} to the compact layout", migrated, COLLECTION);
+        }
+    }
+
+    private void createTimeSeriesCollection() {
+        CreateCollectionOptions options = new CreateCollectionOptions()
+                .timeSeriesOptions(new TimeSeriesOptions("t")
+                        .metaField("m")
+                        .granularity(TimeSeriesGranularity.SECONDS));
+        if (retentionSeconds > 0) {
+            options.expireAfter(retentionSeconds, TimeUnit.SECONDS);
+        }
+        mongoTemplate.getDb().createCollection(COLLECTION, options);
+        log.info("Created time-series collection {} (retentionSeconds={})", COLLECTION, retentionSeconds);
+    }
+
+    private boolean isTimeSeriesCollection() {
+        Document info = mongoTemplate.getDb()
+                .listCollections()
+                .filter(new Document("name", COLLECTION))
+                .first();
+        return info != null && "timeseries".equals(info.getString("type"));
+    }
+
+    /**
+     * time-series 컬렉션 보존 기간은 컬렉션 옵션이라 collMod로 맞춘다.
+     */
+    private void applyCollectionRetention() {
+        mongoTemplate.executeCommand(new Document("collMod", COLLECTION)
+                .append("expireAfterSeconds", retentionSeconds > 0 ? retentionSeconds : "off"));
+    }
+
+    /**
+     * 일반 컬렉션은 t TTL 인덱스. 보존 기간이 바뀌면 collMod로 인덱스 옵션만 고친다.
+     */
+    private void applyTtlIndex(IndexOperations indexOps) {
+        IndexInfo existing = indexOps.getIndexInfo().stream()
+                .filter(index -> TTL_INDEX.equals(index.getName()))
+                .findFirst()
+                .orElse(null);
+
+        if (retentionSeconds == 0) {
+            if (existing != null) {
+                indexOps.dropIndex(TTL_INDEX);
+            }
+            indexOps.createIndex(new Index().on("t", Sort.Direction.ASC).named("t"));
+            return;
+        }
+
+        if (existing == null) {
+            // 같은 키(t)에 옵션만 다른 인덱스는 공존할 수 없다
+            if (indexOps.getIndexInfo().stream().anyMatch(index -> "t".equals(index.getName()))) {
+                indexOps.dropIndex("t");
+            }
+            indexOps.createIndex(new Index().on("t", Sort.Direction.ASC).named(TTL_INDEX)
+                    .expire(retentionSeconds, TimeUnit.SECONDS));
+            return;
+        }
+
+        long current = existing.getExpireAfter().map(Duration::getSeconds).orElse(-1L);
+        if (current != retentionSeconds) {
+            mongoTemplate.executeCommand(new Document("collMod", COLLECTION)
+                    .append("index", new Document("name", TTL_INDEX)
+                            .append("expireAfterSeconds", retentionSeconds)));
+            log.info("Updated {} TTL: {}s -> {}s", COLLECTION, current, retentionSeconds);
+        }
+    }
+}
@@ -7,18 +7,29 @@ import org.springframework.stereotype.Repository;
 import java.util.Date;
 import java.util.List;
 
+/**
+ * 저장 필드명이 짧은 이름(SeatConfirmationLog)이라 쿼리를 직접 적는다.
+ * 각 쿼리는 SeatConfirmationLogCollectionInitializer가 만드는 인덱스를 탄다.
+ */
 @Repository
 public interface SeatConfirmationLogRepository extends MongoRepository<SeatConfirmationLog, String> {
 
+    // 인덱스: m.mid + m.ok + t
+    @Query("{'m.mid': ?0}")
     List<SeatConfirmationLog> findByMatchId(Long matchId);
 
+    // 인덱스: u + t
+    @Query("{'u': ?0}")
     List<SeatConfirmationLog> findByUserId(Long userId);
 
+    @Query("{'et': ?0}")
     List<SeatConfirmationLog> findByEventType(String eventType);
 
-    @Query("{'timestamp': {$gte: ?0, $lte: ?1}}")
+    // 인덱스: t
+    @Query("{'t': {$gte: ?0, $lte: ?1}}")
     List<SeatConfirmationLog> findByTimestampBetween(Date start, Date end);
 
-    @Query("{'matchId': ?0, 'success': true}")
+    // 인덱스: m.mid + m.ok + t
+    @Query("{'m.mid': ?0, 'm.ok': true}")
     List<SeatConfirmationLog> findSuccessfulConfirmationsByMatchId(Long matchId);
-}
\ No newline at end of file
+}
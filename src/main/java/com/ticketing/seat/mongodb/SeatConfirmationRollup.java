@@ -0,0 +1,46 @@
+package com.ticketing.seat.mongodb;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * 매치 x 구역 x 분 단위 확정 통계 (컨슈머가 이벤트를 받으면서 누적)
+ * 대시보드는 원본 로그 대신 이 컬렉션을 읽어 버킷 수만큼만 조회한다.
+ *
+ * _id = "{matchId}:{sectionId}:{bucketStart epoch ms}", 인덱스 (matchId, bucketStart)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "seat_confirmation_rollups")
+public class SeatConfirmationRollup {
+
+    // 구역 정보가 없는 이벤트(실패 등)를 모으는 구역 ID
+    public static final String NO_SECTION = "-";
+
+    @Id
+    private String id;
+
+    private Long matchId;
+    private String sectionId;
+    private Date bucketStart;
+
+    private long successCount;
+    private long failureCount;
+    private long seatCount;           // 이 구역에서 확정된 좌석 수
+
+    // selectionDurationMs 분포 (log2 버킷: "k" = [2^(k-1), 2^k) ms, "0" = 0ms)
+    private long durationCount;
+    private long durationSumMs;
+    private Long durationMinMs;
+    private Long durationMaxMs;
+    private Map<String, Long> durationBuckets;
+}
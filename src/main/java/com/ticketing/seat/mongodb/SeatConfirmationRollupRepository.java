@@ -0,0 +1,17 @@
+package com.ticketing.seat.mongodb;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface SeatConfirmationRollupRepository extends MongoRepository<SeatConfirmationRollup, String> {
+
+    List<SeatConfirmationRollup> findByMatchIdOrderByBucketStartAsc(Long matchId);
+
+    List<SeatConfirmationRollup> findByMatchIdAndBucketStartBetweenOrderByBucketStartAsc(Long matchId, Date start, Date end);
+
+    List<SeatConfirmationRollup> findByMatchIdAndSectionIdOrderByBucketStartAsc(Long matchId, String sectionId);
+}
@@ -0,0 +1,206 @@
+package com.ticketing.seat.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketing.seat.redis.RedisKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * hold/confirm 앞단의 사용자별/IP별 요청 속도 제한.
+ *
+ * - 키마다 GCRA(버킷 하나를 "다음 허용 시각" long 하나로 표현하는 토큰 버킷)를 CAS로 갱신한다. 락이 없다.
+ * - 버킷은 크기 상한 + 미사용 만료가 있는 Caffeine 캐시에 둔다. 오래 안 쓴 키는 밀려나고 다시 가득 찬 버킷으로 시작한다.
+ * - 거절은 로컬에서만 판단한다. (네트워크 호출 없음)
+ * - mode=redis 이면 로컬을 통과한 요청만 Redis GCRA 스크립트로 사용자 한도를 전역으로 한 번 더 확인한다.
+ *   Redis가 거절하면 재시도 가능 시각까지 로컬에서 바로 거절한다. Redis 오류 시에는 통과시킨다.
+ *   IP 한도는 노드별로만 적용한다. (노드 수를 감안해 설정)
+ *
+ * ticketing.rate-limit.enabled=true 일 때만 동작한다.
+ * 클라이언트 IP는 request.getRemoteAddr() 기준이다. 프록시 뒤라면 server.forward-headers-strategy를 설정한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ticketing.rate-limit.enabled", havingValue = "true")
+public class RequestRateLimiter {
+
+    /**
+     * KEYS[1] = 사용자 키, ARGV[1] = 요청 간격(us), ARGV[2] = 허용 오차(us)
+     * 반환: 0 = 허용, 그 외 = 재시도까지 남은 시간(us)
+     * 노드 간 시계 차이를 피하려고 Redis TIME을 쓴다.
+     */
+    private static final DefaultRedisScript<Long> GCRA_SCRIPT = new DefaultRedisScript<>(
+            """
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000000 + tonumber(t[2])
+            local interval = tonumber(ARGV[1])
+            local tolerance = tonumber(ARGV[2])
+            local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+            if tat < now then
+                tat = now
+            end
+            if tat - now > tolerance then
+                return tat - now - tolerance
+            end
+            local nextTat = tat + interval
+            redis.call('SET', KEYS[1], string.format('%d', nextTat), 'PX', math.ceil((nextTat - now) / 1000))
+            return 0
+            """,
+            Long.class
+    );
+
+    private final Limit userLimit;
+    private final Limit ipLimit;
+    private final Cache<Long, Gcra> userBuckets;
+    private final Cache<String, Gcra> ipBuckets;
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<Long, Long> globallyBlockedUntil;
+    private final Counter userRejected;
+    private final Counter ipRejected;
+
+    public RequestRateLimiter(StringRedisTemplate redisTemplate,
+                              MeterRegistry registry,
+                              @Value("${ticketing.rate-limit.mode:local}") String mode,
+                              @Value("${ticketing.rate-limit.user.rate-per-second:5}") double userRate,
+                              @Value("${ticketing.rate-limit.user.burst:10}") int userBurst,
+                              @Value("${ticketing.rate-limit.ip.rate-per-second:50}") double ipRate,
+                              @Value("${ticketing.rate-limit.ip.burst:100}") int ipBurst,
+                              @Value("${ticketing.rate-limit.max-entries:200000}") long maxEntries,
+                              @Value("${ticketing.rate-limit.idle-seconds:60}") long idleSeconds) {
+        this.userLimit = new Limit(userRate, userBurst);
+        this.ipLimit = new Limit(ipRate, ipBurst);
+        this.userBuckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .build();
+        this.ipBuckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .build();
+        this.redisTemplate = "redis".equalsIgnoreCase(mode) ? redisTemplate : null;
+        this.globallyBlockedUntil = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(idleSeconds))
+                .build();
+        this.userRejected = Counter.builder("ticketing.rate_limit.rejected")
+                .description("속도 제한으로 거절된 요청")
+                .tag("scope", "user")
+                .register(registry);
+        this.ipRejected = Counter.builder("ticketing.rate_limit.rejected")
+                .description("속도 제한으로 거절된 요청")
+                .tag("scope", "ip")
+                .register(registry);
+    }
+
+    /**
+     * 요청 1건을 허용할지 판단하고 허용하면 토큰을 쓴다.
+     *
+     * @return 0이면 허용, 아니면 다시 시도할 수 있을 때까지 남은 시간(ms, 1 이상)
+     */
+    public long acquire(Long userId, String clientIp) {
+        long now = System.nanoTime();
+
+        if (clientIp != null) {
+            long wait = bucket(ipBuckets, clientIp).tryAcquire(ipLimit, now);
+            if (wait > 0) {
+                ipRejected.increment();
+                return toMillis(wait);
+            }
+        }
+        if (userId == null) {
+            return 0;
+        }
+
+        long wait = bucket(userBuckets, userId).tryAcquire(userLimit, now);
+        if (wait == 0 && redisTemplate != null) {
+            wait = acquireGlobal(userId, now);
+        }
+        if (wait > 0) {
+            userRejected.increment();
+            return toMillis(wait);
+        }
+        return 0;
+    }
+
+    private long acquireGlobal(Long userId, long now) {
+        Long blockedUntil = globallyBlockedUntil.getIfPresent(userId);
+        if (blockedUntil != null && blockedUntil - now > 0) {
+            return blockedUntil - now;
+        }
+        try {
+            Long waitMicros = redisTemplate.execute(
+                    GCRA_SCRIPT,
+                    List.of(RedisKeys.userRateLimit(userId)),
+                    String.valueOf(userLimit.intervalNanos / 1000),
+                    String.valueOf(userLimit.toleranceNanos / 1000)
+            );
+            if (waitMicros == null || waitMicros <= 0) {
+                return 0;
+            }
+            long waitNanos = TimeUnit.MICROSECONDS.toNanos(waitMicros);
+            globallyBlockedUntil.put(userId, now + waitNanos);
+            return waitNanos;
+        } catch (Exception e) {
+            log.debug("Global rate limit check failed, allowing: userId={}, error={}", userId, e.getMessage());
+            return 0;
+        }
+    }
+
+    private static <K> Gcra bucket(Cache<K, Gcra> buckets, K key) {
+        // 있으면 락 없이 읽고, 없을 때만 빈 버킷을 만든다 (로더가 가벼워 compute 락을 오래 잡지 않는다)
+        return buckets.get(key, k -> new Gcra());
+    }
+
+    private static long toMillis(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(nanos + 999_999));
+    }
+
+    static final class Limit {
+        private final long intervalNanos;   // 토큰 1개가 차는 시간
+        private final long toleranceNanos;  // 버스트 허용량 (burst - 1개 분량)
+
+        Limit(double ratePerSecond, int burst) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+            this.toleranceNanos = intervalNanos * Math.max(0, burst - 1);
+        }
+    }
+
+    /**
+     * GCRA 버킷. tat(theoretical arrival time) = 버킷이 가득 차는 시각.
+     * tat - now 가 허용 오차보다 크면 거절, 아니면 tat를 간격만큼 민다.
+     */
+    static final class Gcra {
+        private static final AtomicLongFieldUpdater<Gcra> TAT =
+                AtomicLongFieldUpdater.newUpdater(Gcra.class, "tat");
+
+        private volatile long tat = Long.MIN_VALUE;
+
+        /**
+         * @return 0이면 허용, 아니면 기다려야 하는 시간(ns)
+         */
+        long tryAcquire(Limit limit, long now) {
+            while (true) {
+                long current = tat;
+                long base = (current == Long.MIN_VALUE || current - now < 0) ? now : current;
+                long over = base - now - limit.toleranceNanos;
+                if (over > 0) {
+                    return over;
+                }
+                if (TAT.compareAndSet(this, current, base + limit.intervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ticketing.seat.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * MatchStatusRepository.STATUS_CHANNEL 구독자.
+ * 메시지 형식: "{matchId}:{STATUS}"
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchStatusChangeListener implements MessageListener {
+
+    private final MatchStatusRepository matchStatusRepository;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int idx = body.indexOf(':');
+        if (idx <= 0) {
+            log.warn("Ignoring malformed match status message: {}", body);
+            return;
+        }
+
+        try {
+            Long matchId = Long.valueOf(body.substring(0, idx));
+            String status = body.substring(idx + 1);
+            if (status.isEmpty()) {
+                matchStatusRepository.evictLocal(matchId);
+            } else {
+                matchStatusRepository.applyStatusChange(matchId, status);
+            }
+            log.debug("Match status changed: matchId={}, status={}", matchId, status);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed match status message: {}", body);
+        }
+    }
+}
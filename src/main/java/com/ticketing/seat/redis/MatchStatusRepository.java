@@ -1,31 +1,114 @@
 package com.ticketing.seat.redis;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketing.seat.cache.AsyncLoads;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * match:{matchId}:status 저장소.
+ *
+ * 노드마다 상태를 로컬 캐시(near-cache)에 들고 있고, 상태가 바뀌면
+ * STATUS_CHANNEL로 "matchId:STATUS"를 발행해 모든 노드의 캐시를 즉시 갱신한다.
+ * (만석 시 Lua 스크립트도 같은 채널로 CLOSED를 발행하고, 회수로 빈자리가 생기면 OPEN을 발행한다)
+ * 메시지 유실에 대비해 캐시 항목은 짧은 TTL 후 Redis에서 다시 읽는다.
+ * Redis 조회는 키마다 한 번만 하고(AsyncLoads 참고), TTL 절반이 지나면 백그라운드로 다시 읽는다.
+ * 조회 중 도착한 변경 알림(put)은 진행 중이던 조회 결과로 덮이지 않는다.
+ */
 @Repository
-@RequiredArgsConstructor
 public class MatchStatusRepository {
 
+    public static final String STATUS_CHANNEL = "match:status:changed";
+
+    // Redis에 키가 없는 상태를 캐싱하기 위한 값
+    private static final String ABSENT = "";
+
     private final StringRedisTemplate redisTemplate;
+    private final AsyncLoadingCache<Long, String> localStatus;
+
+    public MatchStatusRepository(StringRedisTemplate redisTemplate,
+                                 @Value("${ticketing.match-status-cache.max-size:10000}") long maxSize,
+                                 @Value("${ticketing.match-status-cache.ttl-millis:5000}") long ttlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.localStatus = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .refreshAfterWrite(Duration.ofMillis(Math.max(1, ttlMillis / 2)))
+                .executor(AsyncLoads.LOADER)
+                .buildAsync(this::loadStatus);
+    }
 
     private String key(Long matchId) {
-        return "match:" + matchId + ":status";
+        return RedisKeys.status(matchId);
     }
 
     /**
      * 현재 Redis에 기록된 상태 ("OPEN" / "CLOSED" / null)
+     * 로컬 캐시에 있으면 Redis를 조회하지 않는다.
      */
     public String getMatchStatus(Long matchId) {
+        String status = AsyncLoads.join(localStatus.get(matchId));
+        return ABSENT.equals(status) ? null : status;
+    }
+
+    /**
+     * 로컬 캐시를 거치지 않고 Redis 값을 직접 조회 (상태 교정용)
+     */
+    public String getStoredMatchStatus(Long matchId) {
         return redisTemplate.opsForValue().get(key(matchId));
     }
 
     /**
-     * Redis에 상태 저장
+     * Redis에 상태 저장 후 다른 노드에 변경 알림.
+     * 직접 바꾼 상태는 회수 스크립트가 되돌리지 않도록 만석 표시(sold_out)를 지운다.
      */
     public void setMatchStatus(Long matchId, String status) {
         redisTemplate.opsForValue().set(key(matchId), status);
+        redisTemplate.delete(RedisKeys.soldOut(matchId));
+        localStatus.put(matchId, CompletableFuture.completedFuture(status));
+        redisTemplate.convertAndSend(STATUS_CHANNEL, matchId + ":" + status);
+    }
+
+    /**
+     * 여러 매치의 Redis 값을 한 번에 조회 (MGET, 상태 교정용). 순서는 matchIds와 같다.
+     */
+    public List<String> getStoredMatchStatuses(List<Long> matchIds) {
+        List<String> keys = matchIds.stream().map(this::key).toList();
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        return values == null ? Collections.nCopies(matchIds.size(), null) : values;
+    }
+
+    /**
+     * 여러 매치 상태를 MSET으로 저장하고, 변경 알림을 한 파이프라인으로 발행.
+     * setMatchStatus와 같이 만석 표시(sold_out)도 지운다.
+     */
+    public void setMatchStatuses(Map<Long, String> statuses) {
+        if (statuses.isEmpty()) {
+            return;
+        }
+        Map<String, String> values = new HashMap<>();
+        statuses.forEach((matchId, status) -> values.put(key(matchId), status));
+        redisTemplate.opsForValue().multiSet(values);
+        redisTemplate.delete(statuses.keySet().stream().map(RedisKeys::soldOut).toList());
+        statuses.forEach((matchId, status) -> localStatus.put(matchId, CompletableFuture.completedFuture(status)));
+
+        byte[] channel = STATUS_CHANNEL.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            statuses.forEach((matchId, status) -> connection.publish(channel,
+                    (matchId + ":" + status).getBytes(StandardCharsets.UTF_8)));
+            return null;
+        });
     }
 
     /**
@@ -35,4 +118,27 @@ public class MatchStatusRepository {
         String status = getMatchStatus(matchId);
         return "OPEN".equalsIgnoreCase(status);
     }
+
+    /**
+     * 만석으로 자동 마감된 상태인지 (CLOSED여도 선점 중인 좌석은 확정할 수 있다)
+     */
+    public boolean isSoldOut(Long matchId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(RedisKeys.soldOut(matchId)));
+    }
+
+    /**
+     * 다른 노드(또는 Lua 스크립트)에서 발행한 상태 변경을 로컬 캐시에 반영
+     */
+    public void applyStatusChange(Long matchId, String status) {
+        localStatus.put(matchId, CompletableFuture.completedFuture(status));
+    }
+
+    public void evictLocal(Long matchId) {
+        localStatus.synchronous().invalidate(matchId);
+    }
+
+    private String loadStatus(Long matchId) {
+        String status = redisTemplate.opsForValue().get(key(matchId));
+        return status == null ? ABSENT : status;
+    }
 }
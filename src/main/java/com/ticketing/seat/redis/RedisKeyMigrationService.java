@@ -0,0 +1,110 @@
+package com.ticketing.seat.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 이전 형식 Redis 키를 해시 태그 형식(RedisKeys)으로 옮긴다.
+ *   seat:42:A-1          -> seat:{42}:A-1
+ *   match:42:status      -> match:{42}:status (reserved_count, hold_expiry, confirmed ... 동일)
+ *   holds:active_matches -> holds:active_expiry (ZSET, score = 매치의 가장 늦은 만료 시각)
+ *
+ * ticketing.redis.migrate-legacy-keys=true 로 한 노드만 띄워 한 번 실행한다.
+ * 실행 중에는 이전 버전 서버가 키를 쓰지 않도록 점검 시간에 돌린다.
+ * DUMP/RESTORE로 옮기므로 키 타입과 TTL이 유지되고, 새 키가 이미 있으면 건너뛴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ticketing.redis.migrate-legacy-keys", havingValue = "true")
+public class RedisKeyMigrationService implements ApplicationRunner {
+
+    private static final String LEGACY_ACTIVE_HOLDS = "holds:active_matches";
+    private static final Pattern LEGACY_KEY = Pattern.compile("^(seat|match):(\\d+):(.+)$");
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long moved = migratePattern("seat:*") + migratePattern("match:*");
+        int activeMatches = migrateActiveHolds();
+        log.info("Redis key migration finished: movedKeys={}, activeMatches={}", moved, activeMatches);
+    }
+
+    private long migratePattern(String pattern) {
+        long moved = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(1000).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                Matcher m = LEGACY_KEY.matcher(key);
+                if (!m.matches()) {
+                    continue;   // 이미 새 형식이거나 매치 키가 아님
+                }
+                String newKey = m.group(1) + ":{" + m.group(2) + "}:" + m.group(3);
+                if (move(key, newKey)) {
+                    moved++;
+                }
+            }
+        }
+        return moved;
+    }
+
+    private boolean move(String oldKey, String newKey) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(newKey))) {
+            log.warn("Skipping legacy key, new key already exists: {} -> {}", oldKey, newKey);
+            return false;
+        }
+        byte[] dump = redisTemplate.dump(oldKey);
+        if (dump == null) {
+            return false;   // 그 사이 삭제/만료됨
+        }
+        Long ttl = redisTemplate.getExpire(oldKey, TimeUnit.MILLISECONDS);
+        long ttlMillis = (ttl == null || ttl < 0) ? 0 : ttl;
+
+        redisTemplate.restore(newKey, dump, ttlMillis, TimeUnit.MILLISECONDS);
+        redisTemplate.delete(oldKey);
+        return true;
+    }
+
+    /**
+     * 선점 매치 집합(SET)을 만료 시각 ZSET으로 바꾼다.
+     */
+    private int migrateActiveHolds() {
+        Set<String> matchIds = redisTemplate.opsForSet().members(LEGACY_ACTIVE_HOLDS);
+        if (matchIds == null || matchIds.isEmpty()) {
+            return 0;
+        }
+
+        byte[] key = RedisKeys.ACTIVE_HOLDS.getBytes(StandardCharsets.UTF_8);
+        for (String matchId : matchIds) {
+            Set<ZSetOperations.TypedTuple<String>> latest = redisTemplate.opsForZSet()
+                    .reverseRangeWithScores(RedisKeys.holdExpiry(Long.valueOf(matchId)), 0, 0);
+            double score = (latest == null || latest.isEmpty() || latest.iterator().next().getScore() == null)
+                    ? System.currentTimeMillis()
+                    : latest.iterator().next().getScore();
+
+            byte[] member = matchId.getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.zSetCommands()
+                    .zAdd(key, score, member, RedisZSetCommands.ZAddArgs.empty().gt()));
+        }
+        redisTemplate.delete(LEGACY_ACTIVE_HOLDS);
+        return matchIds.size();
+    }
+}
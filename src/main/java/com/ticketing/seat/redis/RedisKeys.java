@@ -0,0 +1,110 @@
+package com.ticketing.seat.redis;
+
+/**
+ * Redis 키 규칙 (Redis Cluster 호환).
+ *
+ * 한 매치의 키는 모두 {matchId} 해시 태그를 포함해 같은 슬롯에 놓인다.
+ * 그래서 선점/확정/회수 스크립트가 여러 키를 한 번에 만져도 CROSSSLOT 오류가 나지 않고,
+ * 매치마다 슬롯이 달라 부하는 매치 단위로 샤드에 흩어진다.
+ *
+ *   seat:{42}:A-1              좌석 점유자 (key 레이아웃)
+ *   match:{42}:status          OPEN / CLOSED
+ *   match:{42}:reserved_count  선점 좌석 수
+ *   match:{42}:sold_out        만석 자동 마감 표시 (값 = 마감 시 전체 좌석 수, 회수로 빈자리가 생기면 다시 연다)
+ *   match:{42}:section_inventory  구역별 잔여/판매 수 HASH ("{구역}", "{구역}:sold")
+ *   match:{42}:hold_expiry     선점 만료 ZSET
+ *   match:{42}:confirmed       확정 좌석 집합 (key 레이아웃)
+ *   match:{42}:seat_bitmap / seat_owners / confirmed_bitmap (bitmap 레이아웃)
+ *   match:{42}:waiting / waiting_seq / waiting_gen / admission  대기열 (WaitingRoomService)
+ *
+ *   ratelimit:user:1001        사용자별 전역 속도 제한 GCRA (RequestRateLimiter, mode=redis)
+ *
+ * 매치에 속하지 않는 전역 키(ACTIVE_HOLDS, STATUS_SYNC_WATERMARK)는 스크립트 안에서 쓰지 않는다.
+ * 이전 형식(seat:42:A-1, match:42:status ...)은 RedisKeyMigrationService로 옮긴다.
+ */
+public final class RedisKeys {
+
+    /**
+     * 선점이 남아있는 매치 ZSET (score = 해당 매치에 등록된 가장 늦은 만료 시각)
+     */
+    public static final String ACTIVE_HOLDS = "holds:active_expiry";
+
+    /**
+     * 매치 상태 증분 동기화 기준 시각 (matches.update_at, ISO-8601)
+     */
+    public static final String STATUS_SYNC_WATERMARK = "sync:match_status:watermark";
+
+    private RedisKeys() {
+    }
+
+    public static String seat(Long matchId, String seatId) {
+        return seatPrefix(matchId) + seatId;
+    }
+
+    /**
+     * 좌석 키 prefix (회수 스크립트가 seatId를 붙여 키를 만든다)
+     */
+    public static String seatPrefix(Long matchId) {
+        return "seat:{" + matchId + "}:";
+    }
+
+    public static String status(Long matchId) {
+        return match(matchId, "status");
+    }
+
+    public static String reservedCount(Long matchId) {
+        return match(matchId, "reserved_count");
+    }
+
+    public static String soldOut(Long matchId) {
+        return match(matchId, "sold_out");
+    }
+
+    public static String sectionInventory(Long matchId) {
+        return match(matchId, "section_inventory");
+    }
+
+    public static String holdExpiry(Long matchId) {
+        return match(matchId, "hold_expiry");
+    }
+
+    public static String confirmed(Long matchId) {
+        return match(matchId, "confirmed");
+    }
+
+    public static String seatBitmap(Long matchId) {
+        return match(matchId, "seat_bitmap");
+    }
+
+    public static String seatOwners(Long matchId) {
+        return match(matchId, "seat_owners");
+    }
+
+    public static String confirmedBitmap(Long matchId) {
+        return match(matchId, "confirmed_bitmap");
+    }
+
+    public static String waitingQueue(Long matchId) {
+        return match(matchId, "waiting");
+    }
+
+    public static String waitingSeq(Long matchId) {
+        return match(matchId, "waiting_seq");
+    }
+
+    public static String waitingGeneration(Long matchId) {
+        return match(matchId, "waiting_gen");
+    }
+
+    public static String admission(Long matchId) {
+        return match(matchId, "admission");
+    }
+
+    public static String userRateLimit(Long userId) {
+        return "ratelimit:user:" + userId;
+    }
+
+    private static String match(Long matchId, String suffix) {
+        return "match:{" + matchId + "}:" + suffix;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ticketing.seat.redis;
+
+import com.ticketing.seat.concurrency.ReservationExecutor;
+import com.ticketing.seat.dto.SeatChangeDto;
+import com.ticketing.seat.service.BestAvailableSeatService;
+import com.ticketing.seat.service.SeatMapStreamService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReservationExecutor.SEAT_CHANGE_CHANNEL 구독자.
+ * 메시지 형식: "{matchId}|{TYPE}|{at}|{좌석 토큰,...}"
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatChangeListener implements MessageListener {
+
+    private final ReservationExecutor reservationExecutor;
+    private final SeatMapStreamService seatMapStreamService;
+    private final BestAvailableSeatService bestAvailableSeatService;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 4);
+        if (parts.length != 4) {
+            log.warn("Ignoring malformed seat change message: {}", body);
+            return;
+        }
+
+        try {
+            Long matchId = Long.valueOf(parts[0]);
+            List<String> seatIds = new ArrayList<>();
+            for (String token : parts[3].split(",")) {
+                seatIds.add(reservationExecutor.seatIdOf(matchId, token));
+            }
+            bestAvailableSeatService.onChange(matchId, parts[1], seatIds);
+            seatMapStreamService.onChange(matchId, SeatChangeDto.builder()
+                    .type(parts[1])
+                    .seatIds(seatIds)
+                    .at(Long.parseLong(parts[2]))
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed seat change message: {}", body);
+        }
+    }
+}
@@ -13,7 +13,7 @@ public class SeatReservationRedisRepository {
     private final StringRedisTemplate redisTemplate;
 
     private String seatKey(Long matchId, String seatId) {
-        return "seat:" + matchId + ":" + seatId;
+        return RedisKeys.seat(matchId, seatId);
     }
 
     /**
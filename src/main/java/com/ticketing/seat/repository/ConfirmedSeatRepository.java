@@ -0,0 +1,12 @@
+package com.ticketing.seat.repository;
+
+import com.ticketing.seat.entity.ConfirmedSeat;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ConfirmedSeatRepository extends JpaRepository<ConfirmedSeat, Long> {
+
+    // 저장은 ConfirmedSeatWriter(JDBC 배치)가 한다. 조회용
+    List<ConfirmedSeat> findByMatchId(Long matchId);
+}
@@ -2,12 +2,40 @@ package com.ticketing.seat.repository;
 
 import com.ticketing.seat.entity.Match;
 import com.ticketing.seat.entity.Match.MatchStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface MatchRepository extends JpaRepository<Match, Long> {
 
     // 동기화 대상 찾을 때 쓸 수 있는 헬퍼들
     List<Match> findByStatus(MatchStatus status);
+
+    /**
+     * since 이후 바뀐 매치의 상태만 updatedAt 순으로 스트리밍 (인덱스 idx_matches_update_at)
+     * fetch size는 모든 드라이버가 받는 양수로 둔다. (Integer.MIN_VALUE 스트리밍 힌트는 MySQL 전용이라 H2가 거부한다)
+     * MySQL에서 서버 커서로 나눠 받으려면 JDBC URL에 useCursorFetch=true를 켠다.
+     * 트랜잭션 안에서 쓰고 반드시 닫는다.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select m.matchId as matchId, m.status as status, m.maxUser as maxUser, m.updatedAt as updatedAt "
+            + "from Match m where m.updatedAt >= :since order by m.updatedAt, m.matchId")
+    Stream<StatusView> streamStatusChangedSince(LocalDateTime since);
+
+    interface StatusView {
+        Long getMatchId();
+
+        MatchStatus getStatus();
+
+        Integer getMaxUser();
+
+        LocalDateTime getUpdatedAt();
+    }
 }
@@ -0,0 +1,64 @@
+package com.ticketing.seat.result;
+
+import com.ticketing.seat.dto.SeatConfirmationResponse;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 좌석 확정 결과.
+ * 성공과 좌석별 실패(충돌/미선점/만료)는 응답 본문을 담고,
+ * 그 외 거절은 코드별로 미리 만든 인스턴스를 돌려준다. (할당 없음)
+ */
+public final class ConfirmResult {
+
+    private static final Map<ErrorCode, ConfirmResult> REJECTIONS = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode code : ErrorCode.values()) {
+            REJECTIONS.put(code, new ConfirmResult(code, null));
+        }
+    }
+
+    private final ErrorCode errorCode;
+    private final SeatConfirmationResponse response;
+
+    private ConfirmResult(ErrorCode errorCode, SeatConfirmationResponse response) {
+        this.errorCode = errorCode;
+        this.response = response;
+    }
+
+    public static ConfirmResult success(SeatConfirmationResponse response) {
+        return new ConfirmResult(null, response);
+    }
+
+    /**
+     * 좌석별 실패 사유가 있는 실패 (실패 좌석 목록을 본문으로 내려준다)
+     */
+    public static ConfirmResult failed(ErrorCode errorCode, SeatConfirmationResponse response) {
+        response.setErrorCode(errorCode.name());
+        return new ConfirmResult(errorCode, response);
+    }
+
+    public static ConfirmResult rejected(ErrorCode errorCode) {
+        return REJECTIONS.get(errorCode);
+    }
+
+    public boolean isSuccess() {
+        return errorCode == null;
+    }
+
+    /**
+     * 성공이면 null
+     */
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * 성공/좌석별 실패 응답 본문 (미리 만든 거절이면 null)
+     */
+    public SeatConfirmationResponse getResponse() {
+        return response;
+    }
+}
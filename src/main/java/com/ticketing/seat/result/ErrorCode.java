@@ -0,0 +1,41 @@
+package com.ticketing.seat.result;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 선점/확정 실패 코드와 HTTP 상태.
+ * 응답 본문의 errorCode 필드로 내려가며, 컨트롤러는 이 매핑만 보고 상태 코드를 정한다.
+ */
+public enum ErrorCode {
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST, "사용자 ID와 좌석 ID는 필수 입력 항목입니다."),
+    INVALID_SEAT_COUNT(HttpStatus.BAD_REQUEST, "좌석은 요청당 1~2석까지 선택할 수 있습니다."),
+    DUPLICATE_SEATS(HttpStatus.BAD_REQUEST, "같은 좌석이 중복으로 포함되어 있습니다."),
+    UNKNOWN_SEAT(HttpStatus.BAD_REQUEST, "존재하지 않는 좌석이 포함되어 있습니다."),
+    MATCH_NOT_FOUND(HttpStatus.NOT_FOUND, "Match not found"),
+    MATCH_NOT_OPEN(HttpStatus.BAD_REQUEST, "Match is closed or not available"),   // 선점: 아직 열리지 않았거나 닫힌 매치
+    MATCH_CLOSED(HttpStatus.GONE, "이 이벤트는 더 이상 예매할 수 없습니다."),          // 확정: 판매 종료
+    SEATS_TAKEN(HttpStatus.CONFLICT, "이미 예약된 좌석이 포함되어 전체 예약에 실패했습니다."),
+    NO_SEATS_AVAILABLE(HttpStatus.CONFLICT, "조건에 맞는 연속 빈자리가 없습니다."),        // 자동 배정: 고를 좌석이 없음
+    NOT_HELD(HttpStatus.BAD_REQUEST, "선점되지 않은 좌석이 포함되어 있습니다."),
+    HOLD_EXPIRED(HttpStatus.BAD_REQUEST, "좌석 선점 시간이 만료되었습니다."),
+    NOT_ADMITTED(HttpStatus.FORBIDDEN, "Not admitted from waiting room"),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "Too many requests"),
+    HOLD_TIMEOUT(HttpStatus.SERVICE_UNAVAILABLE, "선점 처리가 지연되고 있습니다. 잠시 후 다시 시도해 주세요."),  // 재시도하면 앞선 선점을 이어받는다
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+
+    private final HttpStatus status;
+    private final String message;
+
+    ErrorCode(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
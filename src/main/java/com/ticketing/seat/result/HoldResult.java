@@ -0,0 +1,64 @@
+package com.ticketing.seat.result;
+
+import com.ticketing.seat.dto.SeatReservationResponse;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 좌석 선점 결과.
+ * 성공/충돌은 응답 본문을 담고, 그 외 거절은 코드별로 미리 만든 인스턴스를 돌려준다. (할당 없음)
+ * 거절 본문은 RejectionResponses가 미리 직렬화해 둔 것을 쓴다.
+ */
+public final class HoldResult {
+
+    private static final Map<ErrorCode, HoldResult> REJECTIONS = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode code : ErrorCode.values()) {
+            REJECTIONS.put(code, new HoldResult(code, null));
+        }
+    }
+
+    private final ErrorCode errorCode;
+    private final SeatReservationResponse response;
+
+    private HoldResult(ErrorCode errorCode, SeatReservationResponse response) {
+        this.errorCode = errorCode;
+        this.response = response;
+    }
+
+    public static HoldResult success(SeatReservationResponse response) {
+        return new HoldResult(null, response);
+    }
+
+    /**
+     * 이미 점유된 좌석이 있어 실패 (실패 좌석 목록을 본문으로 내려준다)
+     */
+    public static HoldResult conflict(SeatReservationResponse response) {
+        response.setErrorCode(ErrorCode.SEATS_TAKEN.name());
+        return new HoldResult(ErrorCode.SEATS_TAKEN, response);
+    }
+
+    public static HoldResult rejected(ErrorCode errorCode) {
+        return REJECTIONS.get(errorCode);
+    }
+
+    public boolean isSuccess() {
+        return errorCode == null;
+    }
+
+    /**
+     * 성공이면 null
+     */
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * 성공/충돌 응답 본문 (미리 만든 거절이면 null)
+     */
+    public SeatReservationResponse getResponse() {
+        return response;
+    }
+}
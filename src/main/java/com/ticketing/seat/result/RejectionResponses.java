@@ -0,0 +1,87 @@
+package com.ticketing.seat.result;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.seat.dto.SeatConfirmationResponse;
+import com.ticketing.seat.dto.SeatReservationResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 본문이 항상 같은 거절 응답(매치 닫힘, 잘못된 요청, 속도 제한 ...)을 코드별로 미리 직렬화해 둔다.
+ * 오픈 직후에는 요청 대부분이 거절이므로, 거절마다 DTO를 만들고 JSON으로 쓰는 비용을 없앤다.
+ * 본문은 byte[] 그대로 쓰여 메시지 컨버터가 다시 직렬화하지 않는다.
+ */
+@Component
+public class RejectionResponses {
+
+    private final Map<ErrorCode, byte[]> holdBodies = new EnumMap<>(ErrorCode.class);
+    private final Map<ErrorCode, byte[]> confirmBodies = new EnumMap<>(ErrorCode.class);
+    private final Map<ErrorCode, ResponseEntity<byte[]>> holdResponses = new EnumMap<>(ErrorCode.class);
+    private final Map<ErrorCode, ResponseEntity<byte[]>> confirmResponses = new EnumMap<>(ErrorCode.class);
+
+    public RejectionResponses(ObjectMapper objectMapper) {
+        for (ErrorCode code : ErrorCode.values()) {
+            SeatReservationResponse hold = SeatReservationResponse.builder()
+                    .success(false)
+                    .errorCode(code.name())
+                    .build();
+            SeatConfirmationResponse confirm = SeatConfirmationResponse.builder()
+                    .success(false)
+                    .message(code.getMessage())
+                    .errorCode(code.name())
+                    .status(code == ErrorCode.MATCH_CLOSED ? "CLOSED" : null)
+                    .build();
+
+            holdBodies.put(code, write(objectMapper, hold));
+            confirmBodies.put(code, write(objectMapper, confirm));
+            holdResponses.put(code, build(code, holdBodies.get(code)));
+            confirmResponses.put(code, build(code, confirmBodies.get(code)));
+        }
+    }
+
+    public ResponseEntity<byte[]> hold(ErrorCode code) {
+        return holdResponses.get(code);
+    }
+
+    public ResponseEntity<byte[]> confirm(ErrorCode code) {
+        return confirmResponses.get(code);
+    }
+
+    /**
+     * 속도 제한 응답 (Retry-After만 요청마다 다르다)
+     */
+    public ResponseEntity<byte[]> holdRateLimited(long retryAfterMillis) {
+        return rateLimited(holdBodies.get(ErrorCode.RATE_LIMITED), retryAfterMillis);
+    }
+
+    public ResponseEntity<byte[]> confirmRateLimited(long retryAfterMillis) {
+        return rateLimited(confirmBodies.get(ErrorCode.RATE_LIMITED), retryAfterMillis);
+    }
+
+    private static ResponseEntity<byte[]> rateLimited(byte[] body, long retryAfterMillis) {
+        return ResponseEntity.status(ErrorCode.RATE_LIMITED.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMillis + 999) / 1000))
+                .body(body);
+    }
+
+    private static ResponseEntity<byte[]> build(ErrorCode code, byte[] body) {
+        return ResponseEntity.status(code.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private static byte[] write(ObjectMapper objectMapper, Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize rejection body", e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.ticketing.seat.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketing.seat.cache.AsyncLoads;
+import com.ticketing.seat.concurrency.ReservationExecutor;
+import com.ticketing.seat.concurrency.SeatOccupancy;
+import com.ticketing.seat.layout.HallLayout;
+import com.ticketing.seat.layout.SeatAvailabilityIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * "자동 배정" 선점용 좌석 선택.
+ * 구역/등급 안에서 연속으로 빈 N석을 골라 준다. (앞 열, 열 가운데 우선)
+ *
+ * - 매치별 SeatAvailabilityIndex를 처음 요청 때 Redis 점유 현황(readOccupancy)으로 만든다.
+ * - 이후 변경분은 SeatChangeListener가 onChange로 반영한다. (HOLD/CONFIRM = 점유, RELEASE = 해제)
+ * - 노드 간 지연이나 놓친 알림으로 어긋난 인덱스는 rebuildIntervalMs마다 Redis 기준으로 다시 만든다.
+ *   다시 만드는 동안에는 이전 인덱스를 그대로 쓰고, 재생성은 매치마다 한 번만 백그라운드에서 한다.
+ *   (처음 만들 때도 동시 요청은 readOccupancy 하나를 함께 기다린다, AsyncLoads 참고)
+ * - idleExpiryMs 동안 자동 배정 요청도 좌석 변경 알림도 없던 매치 인덱스는 버린다.
+ * 인덱스는 후보 선택에만 쓰고, 선점 성공 여부는 Redis 스크립트가 판단한다.
+ */
+@Slf4j
+@Service
+public class BestAvailableSeatService {
+
+    private final ReservationExecutor reservationExecutor;
+    private final SeatMetaService seatMetaService;
+    private final AsyncLoadingCache<Long, SeatAvailabilityIndex> indexes;
+
+    public BestAvailableSeatService(ReservationExecutor reservationExecutor,
+                                    SeatMetaService seatMetaService,
+                                    @Value("${ticketing.best-available.max-matches:1000}") long maxMatches,
+                                    @Value("${ticketing.best-available.rebuild-interval-ms:5000}") long rebuildIntervalMs,
+                                    @Value("${ticketing.best-available.idle-expiry-ms:600000}") long idleExpiryMs) {
+        this.reservationExecutor = reservationExecutor;
+        this.seatMetaService = seatMetaService;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxMatches)
+                .refreshAfterWrite(Duration.ofMillis(rebuildIntervalMs))
+                .expireAfterAccess(Duration.ofMillis(idleExpiryMs))
+                .executor(AsyncLoads.LOADER)
+                .buildAsync(this::build);
+    }
+
+    /**
+     * 구역(sectionId)/등급(grade) 안에서 연속으로 빈 count석을 골라 이 노드의 인덱스에 점유로 표시한다.
+     * sectionId, grade가 null이면 조건 없이 고른다.
+     *
+     * @return 좌석 ID 목록 (빈자리가 없으면 빈 목록)
+     */
+    public List<String> pick(Long matchId, String sectionId, String grade, int count) {
+        SeatAvailabilityIndex index = indexOf(matchId);
+        HallLayout layout = index.layout();
+
+        int fromRow = 0;
+        int toRow = layout.rowCount();
+        if (sectionId != null) {
+            int section = layout.sectionIndexOf(sectionId);
+            if (section < 0) {
+                return List.of();
+            }
+            fromRow = section * layout.rowsPerSection();
+            toRow = fromRow + layout.rowsPerSection();
+        }
+        long[] allowed = grade == null ? null : index.filterMask(grade, g -> index.buildMask(
+                i -> g.equals(layout.gradeAt(i))));
+
+        int[] seats = index.claim(fromRow, toRow, count, allowed);
+        if (seats == null) {
+            return List.of();
+        }
+        List<String> seatIds = new ArrayList<>(seats.length);
+        for (int seat : seats) {
+            seatIds.add(layout.seatIdAt(seat));
+        }
+        return seatIds;
+    }
+
+    /**
+     * pick으로 고른 좌석의 선점이 실패했을 때, 실제로 비어 있는 좌석만 인덱스에서 되돌린다.
+     * (다른 노드가 가져간 좌석은 점유로 남긴다)
+     */
+    public void unpick(Long matchId, List<String> seatIds, boolean checkOwner) {
+        SeatAvailabilityIndex index = loaded(matchId);
+        if (index == null) {
+            return;
+        }
+        for (String seatId : seatIds) {
+            int i = index.layout().indexOf(seatId);
+            if (i >= 0 && (!checkOwner || reservationExecutor.findOwner(matchId, seatId).isEmpty())) {
+                index.release(i);
+            }
+        }
+    }
+
+    /**
+     * 좌석 변경 알림 반영. 인덱스가 없는 매치는 무시한다. (다음 pick 때 Redis에서 새로 만든다)
+     */
+    public void onChange(Long matchId, String type, List<String> seatIds) {
+        SeatAvailabilityIndex index = loaded(matchId);
+        if (index == null) {
+            return;
+        }
+        boolean release = "RELEASE".equals(type);
+        for (String seatId : seatIds) {
+            int i = index.layout().indexOf(seatId);
+            if (i < 0) {
+                continue;
+            }
+            if (release) {
+                index.release(i);
+            } else {
+                index.occupy(i);
+            }
+        }
+    }
+
+    private SeatAvailabilityIndex indexOf(Long matchId) {
+        return AsyncLoads.join(indexes.get(matchId));
+    }
+
+    /**
+     * 이미 만들어진 인덱스 (없거나 아직 만드는 중이면 null, 기다리지 않는다)
+     */
+    private SeatAvailabilityIndex loaded(Long matchId) {
+        CompletableFuture<SeatAvailabilityIndex> future = indexes.getIfPresent(matchId);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.join();
+    }
+
+    private SeatAvailabilityIndex build(Long matchId) {
+        HallLayout layout = seatMetaService.layoutOf(matchId);
+        SeatAvailabilityIndex index = new SeatAvailabilityIndex(layout);
+        SeatOccupancy occupancy = reservationExecutor.readOccupancy(matchId, System.currentTimeMillis());
+        occupyAll(index, occupancy.getHeldSeats());
+        occupyAll(index, occupancy.getConfirmedSeats());
+        log.debug("Built seat availability index: matchId={}, held={}, confirmed={}",
+                matchId, occupancy.getHeldSeats().size(), occupancy.getConfirmedSeats().size());
+        return index;
+    }
+
+    private static void occupyAll(SeatAvailabilityIndex index, List<String> seatIds) {
+        for (String seatId : seatIds) {
+            int i = index.layout().indexOf(seatId);
+            if (i >= 0) {
+                index.occupy(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.ticketing.seat.service;
+
+import com.ticketing.seat.dto.ConfirmedSeatDto;
+import com.ticketing.seat.metrics.TicketingMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 확정 좌석을 MySQL(confirmed_seats)에 write-behind로 저장한다.
+ *
+ * - 확정 요청은 enqueue()로 큐에 넣고 바로 리턴한다. 전용 스레드가 batchSize건이 모이거나
+ *   첫 건이 들어온 뒤 flushIntervalMs가 지나면 multi-row INSERT 한 번으로 쓴다.
+ * - (match_id, seat_id) 유니크 키라 같은 좌석을 다시 써도 무시된다. (재시도/재처리에 안전)
+ * - 큐가 offerTimeoutMs 동안 가득 차 있으면 호출 스레드가 직접 저장한다.
+ *   DB가 느려지면 확정 요청도 같이 느려지게 해서 메모리에 무한히 쌓이지 않게 한다.
+ * - 저장 실패 시 같은 배치를 backoff 후 다시 쓴다. 그동안 큐는 계속 찬다.
+ * - 다시 써도 실패할 행(DataIntegrityViolationException: 컬럼 길이 초과 등)이 섞인 배치는 반으로 나눠 다시 쓰고,
+ *   한 행까지 좁혀진 행은 로그로 남기고 버린다. (ticketing.seat_persist.rejected) 한 행 때문에 저장 전체가 멈추지 않는다.
+ * - matches.success_user_count는 저장된 매치에 대해 countIntervalMs마다 COUNT(DISTINCT user_id)로 다시 계산한다.
+ *
+ * Redis 확정 기록이 원본이므로, 프로세스가 큐를 비우지 못하고 죽으면 Redis 확정 집합으로 다시 채울 수 있다.
+ * ticketing.seat-persistence.enabled=true 일 때만 동작한다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "ticketing.seat-persistence.enabled", havingValue = "true")
+public class ConfirmedSeatWriter {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO confirmed_seats (match_id, seat_id, section_id, user_id, confirmed_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?)";
+    // 유니크 키 중복만 무시한다 (INSERT IGNORE는 다른 오류까지 경고로 바꾼다)
+    private static final String INSERT_SUFFIX = " ON DUPLICATE KEY UPDATE seat_id = seat_id";
+    private static final String UPDATE_SUCCESS_USERS = """
+            UPDATE matches m
+               SET m.success_user_count = (SELECT COUNT(DISTINCT c.user_id) FROM confirmed_seats c
+                                            WHERE c.match_id = m.match_id)
+             WHERE m.match_id = ?
+            """;
+    private static final long MIN_BACKOFF_MS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TicketingMetrics ticketingMetrics;
+    private final BlockingQueue<PendingSeat> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final long countIntervalMs;
+    private final long maxBackoffMs;
+    private final Counter rejectedRows;
+
+    // writer 스레드만 쓴다
+    private final Set<Long> dirtyMatches = new HashSet<>();
+    private long lastCountAt;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ConfirmedSeatWriter(JdbcTemplate jdbcTemplate,
+                               TicketingMetrics ticketingMetrics,
+                               MeterRegistry registry,
+                               @Value("${ticketing.seat-persistence.queue-capacity:50000}") int queueCapacity,
+                               @Value("${ticketing.seat-persistence.batch-size:500}") int batchSize,
+                               @Value("${ticketing.seat-persistence.flush-interval-ms:100}") long flushIntervalMs,
+                               @Value("${ticketing.seat-persistence.offer-timeout-ms:50}") long offerTimeoutMs,
+                               @Value("${ticketing.seat-persistence.count-interval-ms:1000}") long countIntervalMs,
+                               @Value("${ticketing.seat-persistence.max-backoff-ms:5000}") long maxBackoffMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ticketingMetrics = ticketingMetrics;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.countIntervalMs = countIntervalMs;
+        this.maxBackoffMs = maxBackoffMs;
+
+        Gauge.builder("ticketing.seat_persist.queue", queue, BlockingQueue::size)
+                .description("MySQL 저장 대기 중인 확정 좌석 수")
+                .register(registry);
+        this.rejectedRows = Counter.builder("ticketing.seat_persist.rejected")
+                .description("DB가 거부해 버린 확정 좌석 수 (로그로 남긴다)")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("confirmed-seat-writer").start(this::run);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        worker.join(flushIntervalMs + maxBackoffMs + 5_000);
+        if (!queue.isEmpty()) {
+            log.error("Confirmed seat writer stopped with {} seats not persisted", queue.size());
+        }
+    }
+
+    /**
+     * 확정된 좌석을 저장 큐에 넣는다.
+     */
+    public void enqueue(Long matchId, Long userId, List<ConfirmedSeatDto> seats, long confirmedAtMillis) {
+        List<PendingSeat> overflow = null;
+        for (ConfirmedSeatDto seat : seats) {
+            PendingSeat pending = new PendingSeat(matchId, seat.getSeatId(), seat.getSectionId(), userId,
+                    confirmedAtMillis);
+            boolean queued;
+            try {
+                queued = queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+            if (!queued) {
+                if (overflow == null) {
+                    overflow = new ArrayList<>();
+                }
+                overflow.add(pending);
+            }
+        }
+
+        if (overflow != null) {
+            log.warn("Confirmed seat queue full, writing {} seats on caller thread: matchId={}", overflow.size(), matchId);
+            try {
+                write(overflow);
+            } catch (DataIntegrityViolationException e) {
+                writeRowByRow(overflow);
+            } catch (DataAccessException e) {
+                log.error("Failed to persist confirmed seats: matchId={}, userId={}, seats={}, error={}",
+                        matchId, userId, overflow.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void run() {
+        List<PendingSeat> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingSeat first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    fill(batch);
+                    writeWithRetry(batch);
+                    batch.clear();
+                }
+                updateSuccessCountsIfDue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Confirmed seat writer error: {}", e.getMessage(), e);
+            }
+        }
+        updateSuccessCounts();
+    }
+
+    /**
+     * 첫 건 이후 flushIntervalMs 안에 들어온 것까지 batchSize만큼 모은다.
+     */
+    private void fill(List<PendingSeat> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            PendingSeat next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void writeWithRetry(List<PendingSeat> batch) throws InterruptedException {
+        long backoff = MIN_BACKOFF_MS;
+        while (true) {
+            try {
+                write(batch);
+                batch.forEach(p -> dirtyMatches.add(p.matchId));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // 재시도해도 같은 결과이므로 나눠서 문제 행만 걸러낸다
+                isolate(batch, e);
+                return;
+            } catch (DataAccessException e) {
+                if (!running) {
+                    log.error("Dropping {} confirmed seats on shutdown: {}", batch.size(), e.getMessage());
+                    return;
+                }
+                log.warn("Confirmed seat batch failed, retrying in {}ms: size={}, error={}",
+                        backoff, batch.size(), e.getMessage());
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, maxBackoffMs);
+            }
+        }
+    }
+
+    /**
+     * 배치를 반으로 나눠 각각 다시 쓴다. 한 행만 남으면 그 행이 원인이므로 버린다.
+     */
+    private void isolate(List<PendingSeat> batch, DataIntegrityViolationException e) throws InterruptedException {
+        if (batch.size() == 1) {
+            reject(batch.get(0), e);
+            return;
+        }
+        int mid = batch.size() / 2;
+        writeWithRetry(new ArrayList<>(batch.subList(0, mid)));
+        writeWithRetry(new ArrayList<>(batch.subList(mid, batch.size())));
+    }
+
+    /**
+     * 호출 스레드 저장에서 거부된 배치: 재시도 없이 한 행씩 써서 문제 행만 버린다.
+     */
+    private void writeRowByRow(List<PendingSeat> seats) {
+        for (PendingSeat seat : seats) {
+            try {
+                write(List.of(seat));
+            } catch (DataIntegrityViolationException e) {
+                reject(seat, e);
+            } catch (DataAccessException e) {
+                log.error("Failed to persist confirmed seat: matchId={}, seatId={}, error={}",
+                        seat.matchId, seat.seatId, e.getMessage());
+            }
+        }
+    }
+
+    private void reject(PendingSeat seat, DataAccessException e) {
+        rejectedRows.increment();
+        log.error("Confirmed seat rejected by DB, dropping: matchId={}, seatId={}, sectionId={}, userId={}, confirmedAt={}, error={}",
+                seat.matchId, seat.seatId, seat.sectionId, seat.userId, seat.confirmedAtMillis, e.getMessage());
+    }
+
+    private void write(List<PendingSeat> batch) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(batch.size(), INSERT_ROW)) + INSERT_SUFFIX;
+            jdbcTemplate.update(sql, ps -> {
+                int i = 1;
+                for (PendingSeat seat : batch) {
+                    ps.setLong(i++, seat.matchId);
+                    ps.setString(i++, seat.seatId);
+                    ps.setString(i++, seat.sectionId);
+                    ps.setLong(i++, seat.userId);
+                    ps.setTimestamp(i++, new Timestamp(seat.confirmedAtMillis));
+                }
+            });
+            success = true;
+        } finally {
+            ticketingMetrics.recordSeatPersist(batch.size(), success, System.nanoTime() - start);
+        }
+    }
+
+    private void updateSuccessCountsIfDue() {
+        long now = System.currentTimeMillis();
+        if (!dirtyMatches.isEmpty() && now - lastCountAt >= countIntervalMs) {
+            updateSuccessCounts();
+            lastCountAt = now;
+        }
+    }
+
+    private void updateSuccessCounts() {
+        for (Long matchId : new LinkedHashSet<>(dirtyMatches)) {
+            try {
+                jdbcTemplate.update(UPDATE_SUCCESS_USERS, matchId);
+                dirtyMatches.remove(matchId);
+            } catch (DataAccessException e) {
+                log.warn("Failed to update success_user_count: matchId={}, error={}", matchId, e.getMessage());
+            }
+        }
+    }
+
+    private static final class PendingSeat {
+        private final Long matchId;
+        private final String seatId;
+        private final String sectionId;
+        private final Long userId;
+        private final long confirmedAtMillis;
+
+        private PendingSeat(Long matchId, String seatId, String sectionId, Long userId, long confirmedAtMillis) {
+            this.matchId = matchId;
+            this.seatId = seatId;
+            this.sectionId = sectionId;
+            this.userId = userId;
+            this.confirmedAtMillis = confirmedAtMillis;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.ticketing.seat.service;
 
 import com.ticketing.seat.event.SeatConfirmationEvent;
+import com.ticketing.seat.event.SeatEventSpool;
+import com.ticketing.seat.metrics.TicketingMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -8,6 +10,7 @@ import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -18,7 +21,11 @@ import java.util.concurrent.CompletableFuture;
 @RequiredArgsConstructor
 public class EventPublisherService {
 
+    public static final String SEAT_CONFIRMED_TOPIC = "match.seat.confirmed";
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TicketingMetrics ticketingMetrics;
+    private final Optional<SeatEventSpool> eventSpool;
 
     /**
      * 좌석 확정 이벤트 발행
@@ -43,20 +50,41 @@ public class EventPublisherService {
                 .selectionDurationMs(selectionDurationMs)
                 .build();
 
-        // 비동기적으로 이벤트 발행
-        CompletableFuture<SendResult<String, Object>> future =
-                kafkaTemplate.send("match.seat.confirmed", userId.toString(), event);
+        // 스풀이 켜져 있으면 로컬 파일에만 쓰고 리턴한다 (전송은 SeatEventSpoolDrainer)
+        if (eventSpool.isPresent()) {
+            try {
+                eventSpool.get().append(event);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Event spool append failed, sending directly: matchId={}, error={}", matchId, e.getMessage());
+            }
+        }
 
-        future.whenComplete((result, ex) -> {
+        send(event).whenComplete((result, ex) -> {
             if (ex != null) {
                 log.error("Unable to send seat confirmation event to topic: {}", ex.getMessage());
             } else {
-                log.debug("Sent seat confirmation event to topic [match.seat.confirmed] with offset: {}",
-                        result.getRecordMetadata().offset());
+                log.debug("Sent seat confirmation event to topic [{}] with offset: {}",
+                        SEAT_CONFIRMED_TOPIC, result.getRecordMetadata().offset());
             }
         });
     }
 
+    /**
+     * 확정 이벤트를 카프카로 비동기 전송 (ack까지 걸린 시간을 기록)
+     * 키를 matchId로 두어 한 매치의 이벤트가 한 파티션에 모이게 한다 (컨슈머 집계 단위)
+     */
+    public CompletableFuture<SendResult<String, Object>> send(SeatConfirmationEvent event) {
+        Long matchId = event.getMatchId();
+        long sendStart = System.nanoTime();
+        CompletableFuture<SendResult<String, Object>> future =
+                kafkaTemplate.send(SEAT_CONFIRMED_TOPIC, String.valueOf(matchId), event);
+
+        future.whenComplete((result, ex) -> ticketingMetrics.recordKafkaSend(SEAT_CONFIRMED_TOPIC, matchId,
+                ex == null, System.nanoTime() - sendStart));
+        return future;
+    }
+
     /**
      * 좌석 선택 이벤트 발행
      */
@@ -1,14 +1,27 @@
 package com.ticketing.seat.service;
 
-import com.ticketing.seat.entity.Match;
+import com.ticketing.seat.cache.MatchMetaCache;
 import com.ticketing.seat.entity.Match.MatchStatus;
+import com.ticketing.seat.metrics.TicketingMetrics;
 import com.ticketing.seat.redis.MatchStatusRepository;
+import com.ticketing.seat.redis.RedisKeys;
 import com.ticketing.seat.repository.MatchRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * DB(matches.status)를 기준으로 Redis match:{matchId}:status 값을 교정하는 자기치유 서비스.
@@ -16,41 +29,191 @@ import java.util.List;
  *  - DB = PLAYING  => Redis = "OPEN"
  *  - DB = FINISHED => Redis = "CLOSED"
  *  - DB = WAITING  => Redis = "CLOSED" (시작 전이므로 예약 불가)
+ * 교정 시 MatchStatusRepository가 상태 변경 채널로 발행하므로 모든 노드의 near-cache도 함께 갱신된다.
+ *
+ * 증분 동기화:
+ *  - 마지막으로 본 update_at(RedisKeys.STATUS_SYNC_WATERMARK) 이후 바뀐 매치만 스트리밍으로 읽는다.
+ *  - 늦게 커밋된 트랜잭션을 놓치지 않도록 watermark보다 overlapSeconds 앞에서부터 다시 읽는다.
+ *  - batchSize건씩 MGET으로 비교하고, 다른 것만 MSET + 변경 알림(파이프라인)으로 고친다.
+ *  - watermark가 없으면(최초 실행) 전체를 한 번 훑는다.
+ *  - 겹쳐 읽은 행 중 이 노드가 이미 반영한 updatedAt은 건너뛴다. (최근 바뀐 매치를 매번 다시 교정/무효화하지 않음)
+ *
+ * 매진으로 닫힌 매치: 선점 스크립트는 만석이 되면 Redis 상태만 CLOSED로 바꾸고 DB는 PLAYING으로 남는다.
+ * 그래서 DB = PLAYING, Redis = CLOSED 이고 reserved_count >= max_user 이면 OPEN으로 되돌리지 않는다.
+ * 여러 노드가 같이 돌아도 결과는 같다. (같은 구간을 중복으로 볼 뿐)
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class MatchStatusSyncService {
 
     private final MatchRepository matchRepository;
     private final MatchStatusRepository matchStatusRepository;
+    private final MatchMetaCache matchMetaCache;
+    private final StringRedisTemplate redisTemplate;
+    private final TicketingMetrics ticketingMetrics;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long overlapSeconds;
+    // 매치별로 이 노드가 마지막으로 반영한 updatedAt (overlap 구간을 벗어나면 지운다)
+    private final Map<Long, LocalDateTime> appliedUpdatedAt = new ConcurrentHashMap<>();
 
-    @Transactional(readOnly = true)
+    public MatchStatusSyncService(MatchRepository matchRepository,
+                                  MatchStatusRepository matchStatusRepository,
+                                  MatchMetaCache matchMetaCache,
+                                  StringRedisTemplate redisTemplate,
+                                  TicketingMetrics ticketingMetrics,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${ticketing.match-status-sync.enabled:true}") boolean enabled,
+                                  @Value("${ticketing.match-status-sync.batch-size:500}") int batchSize,
+                                  @Value("${ticketing.match-status-sync.overlap-seconds:5}") long overlapSeconds) {
+        this.matchRepository = matchRepository;
+        this.matchStatusRepository = matchStatusRepository;
+        this.matchMetaCache = matchMetaCache;
+        this.redisTemplate = redisTemplate;
+        this.ticketingMetrics = ticketingMetrics;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.overlapSeconds = overlapSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${ticketing.match-status-sync.interval-ms:5000}")
+    public void scheduledSync() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            syncChangedMatchStatuses();
+        } catch (Exception e) {
+            log.warn("Match status sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * watermark 이후 바뀐 매치만 교정
+     */
+    public void syncChangedMatchStatuses() {
+        String stored = redisTemplate.opsForValue().get(RedisKeys.STATUS_SYNC_WATERMARK);
+        LocalDateTime since = stored == null
+                ? LocalDateTime.of(1970, 1, 1, 0, 0)
+                : LocalDateTime.parse(stored).minusSeconds(overlapSeconds);
+
+        LocalDateTime latest = sync(since, true);
+        // since보다 오래된 행은 다시 읽히지 않으므로 기록을 지운다
+        appliedUpdatedAt.values().removeIf(updatedAt -> updatedAt.isBefore(since));
+        if (latest != null && (stored == null || latest.isAfter(LocalDateTime.parse(stored)))) {
+            redisTemplate.opsForValue().set(RedisKeys.STATUS_SYNC_WATERMARK, latest.toString());
+        }
+    }
+
+    /**
+     * watermark와 상관없이 전체 매치를 교정 (운영 중 수동 실행용)
+     */
     public void syncAllMatchStatuses() {
-        // PLAYING -> "OPEN"
-        List<Match> playing = matchRepository.findByStatus(MatchStatus.PLAYING);
-        for (Match m : playing) {
-            String rs = matchStatusRepository.getMatchStatus(m.getMatchId());
-            if (!"OPEN".equalsIgnoreCase(rs)) {
-                matchStatusRepository.setMatchStatus(m.getMatchId(), "OPEN");
-            }
+        sync(LocalDateTime.of(1970, 1, 1, 0, 0), false);
+    }
+
+    /**
+     * @param skipApplied 이 노드가 이미 반영한 updatedAt의 행은 건너뛸지 여부
+     * @return 읽은 매치 중 가장 늦은 updatedAt (없으면 null)
+     */
+    private LocalDateTime sync(LocalDateTime since, boolean skipApplied) {
+        long start = System.nanoTime();
+        SyncResult result = new SyncResult();
+        boolean success = false;
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<MatchRepository.StatusView> rows = matchRepository.streamStatusChangedSince(since)) {
+                    List<MatchRepository.StatusView> batch = new ArrayList<>(batchSize);
+                    Iterator<MatchRepository.StatusView> it = rows.iterator();
+                    while (it.hasNext()) {
+                        MatchRepository.StatusView row = it.next();
+                        if (result.latest == null || row.getUpdatedAt().isAfter(result.latest)) {
+                            result.latest = row.getUpdatedAt();
+                        }
+                        if (skipApplied && row.getUpdatedAt().equals(appliedUpdatedAt.get(row.getMatchId()))) {
+                            continue;
+                        }
+                        batch.add(row);
+                        if (batch.size() >= batchSize) {
+                            reconcile(batch, result);
+                            batch.clear();
+                        }
+                    }
+                    reconcile(batch, result);
+                }
+            });
+            success = true;
+        } finally {
+            ticketingMetrics.recordStatusSync(success, result.scanned, result.corrected, System.nanoTime() - start);
+        }
+        if (result.corrected > 0) {
+            log.info("Match status sync corrected {} of {} changed matches since {}",
+                    result.corrected, result.scanned, since);
+        }
+        return result.latest;
+    }
+
+    private void reconcile(List<MatchRepository.StatusView> batch, SyncResult result) {
+        if (batch.isEmpty()) {
+            return;
         }
+        List<Long> matchIds = batch.stream().map(MatchRepository.StatusView::getMatchId).toList();
+        List<String> current = matchStatusRepository.getStoredMatchStatuses(matchIds);
 
-        // FINISHED -> "CLOSED"
-        List<Match> finished = matchRepository.findByStatus(MatchStatus.FINISHED);
-        for (Match m : finished) {
-            String rs = matchStatusRepository.getMatchStatus(m.getMatchId());
-            if (!"CLOSED".equalsIgnoreCase(rs)) {
-                matchStatusRepository.setMatchStatus(m.getMatchId(), "CLOSED");
+        Map<Long, String> corrections = new HashMap<>();
+        List<MatchRepository.StatusView> reopenCandidates = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            MatchRepository.StatusView row = batch.get(i);
+            String expected = toRedisStatus(row.getStatus());
+            if (!expected.equalsIgnoreCase(current.get(i))) {
+                if ("OPEN".equals(expected) && "CLOSED".equalsIgnoreCase(current.get(i))) {
+                    // 매진으로 닫혔을 수 있으므로 선점 수를 보고 결정한다
+                    reopenCandidates.add(row);
+                } else {
+                    corrections.put(row.getMatchId(), expected);
+                }
             }
+            // 상태 외 컬럼이 바뀌었을 수도 있으므로 이 노드의 메타 캐시는 비운다 (새 updatedAt일 때만)
+            matchMetaCache.invalidate(row.getMatchId());
+            appliedUpdatedAt.put(row.getMatchId(), row.getUpdatedAt());
         }
+        reopenUnlessSoldOut(reopenCandidates, corrections);
+        matchStatusRepository.setMatchStatuses(corrections);
+
+        result.scanned += batch.size();
+        result.corrected += corrections.size();
+    }
 
-        // WAITING -> "CLOSED" (아직 시작 전)
-        List<Match> waiting = matchRepository.findByStatus(MatchStatus.WAITING);
-        for (Match m : waiting) {
-            String rs = matchStatusRepository.getMatchStatus(m.getMatchId());
-            if (!"CLOSED".equalsIgnoreCase(rs)) {
-                matchStatusRepository.setMatchStatus(m.getMatchId(), "CLOSED");
+    /**
+     * DB = PLAYING 인데 Redis = CLOSED인 매치 중 매진이 아닌 것만 OPEN으로 고친다.
+     */
+    private void reopenUnlessSoldOut(List<MatchRepository.StatusView> candidates, Map<Long, String> corrections) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        List<String> keys = candidates.stream().map(row -> RedisKeys.reservedCount(row.getMatchId())).toList();
+        List<String> counts = redisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; i < candidates.size(); i++) {
+            MatchRepository.StatusView row = candidates.get(i);
+            String count = counts == null ? null : counts.get(i);
+            boolean soldOut = count != null && row.getMaxUser() != null
+                    && Long.parseLong(count) >= row.getMaxUser();
+            if (!soldOut) {
+                corrections.put(row.getMatchId(), "OPEN");
             }
         }
     }
+
+    private static String toRedisStatus(MatchStatus status) {
+        return status == MatchStatus.PLAYING ? "OPEN" : "CLOSED";
+    }
+
+    private static final class SyncResult {
+        private int scanned;
+        private int corrected;
+        private LocalDateTime latest;
+    }
 }
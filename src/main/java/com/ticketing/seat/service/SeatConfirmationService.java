@@ -1,20 +1,24 @@
 package com.ticketing.seat.service;
 
+import com.ticketing.seat.cache.MatchMeta;
+import com.ticketing.seat.cache.MatchMetaCache;
+import com.ticketing.seat.concurrency.ConfirmFailureReason;
+import com.ticketing.seat.concurrency.ReservationExecutor;
 import com.ticketing.seat.dto.ConfirmedSeatDto;
+import com.ticketing.seat.dto.FailedSeatDto;
 import com.ticketing.seat.dto.SeatConfirmationRequest;
 import com.ticketing.seat.dto.SeatConfirmationResponse;
-import com.ticketing.seat.entity.Match;
-import com.ticketing.seat.exception.MatchNotFoundException;
+import com.ticketing.seat.metrics.TicketingMetrics;
 import com.ticketing.seat.redis.MatchStatusRepository;
-import com.ticketing.seat.redis.SeatReservationRedisRepository;
-import com.ticketing.seat.repository.MatchRepository;
+import com.ticketing.seat.result.ConfirmResult;
+import com.ticketing.seat.result.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -22,93 +26,101 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class SeatConfirmationService {
 
-    private final MatchRepository matchRepository;
+    private final MatchMetaCache matchMetaCache;
     private final MatchStatusRepository matchStatusRepository;
-    private final SeatReservationRedisRepository seatReservationRedisRepository;
+    private final ReservationExecutor reservationExecutor;
     private final SeatMetaService seatMetaService;
     private final EventPublisherService eventPublisherService;
+    private final TicketingMetrics ticketingMetrics;
+    private final Optional<ConfirmedSeatWriter> confirmedSeatWriter;
 
     /**
      * 좌석 확정 서비스
      * 1. 매치 상태 확인
-     * 2. Redis에서 좌석 상태 확인
-     * 3. 좌석 확정 처리
-     * 4. 카프카를 통해 이벤트 발행
+     * 2. Redis 확정 스크립트로 좌석 검증 + 확정 (단일 왕복, 원자적)
+     * 3. 응답 생성
+     * 4. MySQL 확정 기록 큐에 추가 (ConfirmedSeatWriter)
+     * 5. 카프카를 통해 이벤트 발행
+     *
+     * 매치 정보는 MatchMetaCache에서 읽으므로 JDBC 트랜잭션을 잡지 않는다.
+     * 실패는 ErrorCode로 구분해 돌려주며, 본문이 고정된 거절은 미리 만든 ConfirmResult를 쓴다.
      */
-    @Transactional(readOnly = true)
-    public SeatConfirmationResponse confirmSeats(Long matchId, SeatConfirmationRequest request) {
+    public ConfirmResult confirmSeats(Long matchId, SeatConfirmationRequest request) {
         long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        long[] phases = TicketingMetrics.newPhaseTimes();
+        TicketingMetrics.ConfirmOutcome outcome = TicketingMetrics.ConfirmOutcome.ERROR;
 
         if (request.getUserId() == null || request.getSeatIds() == null || request.getSeatIds().isEmpty()) {
-            return buildErrorResponse("사용자 ID와 좌석 ID는 필수 입력 항목입니다.");
+            ticketingMetrics.recordConfirm(matchId, TicketingMetrics.ConfirmOutcome.INVALID,
+                    System.nanoTime() - startNanos, phases);
+            return ConfirmResult.rejected(ErrorCode.INVALID_REQUEST);
+        }
+        if (SeatReservationService.hasDuplicates(request.getSeatIds())) {
+            ticketingMetrics.recordConfirm(matchId, TicketingMetrics.ConfirmOutcome.INVALID,
+                    System.nanoTime() - startNanos, phases);
+            return ConfirmResult.rejected(ErrorCode.DUPLICATE_SEATS);
         }
 
         try {
             // 1. 매치 상태 확인
-            Match match = matchRepository.findById(matchId)
-                    .orElseThrow(() -> new MatchNotFoundException(matchId));
-
-            if (match.getStatus() != Match.MatchStatus.PLAYING) {
-                SeatConfirmationResponse response = buildClosedResponse(matchId, request.getUserId().toString());
-
-                // 실패 이벤트 발행
-                publishConfirmationEvent(request.getUserId(), matchId, request.getSeatIds(), null,
-                        false, response.getMessage(), startTime);
+            long t = System.nanoTime();
+            Optional<MatchMeta> found = matchMetaCache.find(matchId);
+            phases[TicketingMetrics.PHASE_DB_LOOKUP] = System.nanoTime() - t;
+            if (found.isEmpty()) {
+                log.warn("매치 없음: matchId={}", matchId);
+                outcome = TicketingMetrics.ConfirmOutcome.NOT_FOUND;
+                return ConfirmResult.rejected(ErrorCode.MATCH_NOT_FOUND);
+            }
+            MatchMeta match = found.get();
 
-                return response;
+            if (!match.isPlaying()) {
+                outcome = TicketingMetrics.ConfirmOutcome.CLOSED;
+                return rejectClosed(matchId, request, startTime);
             }
 
+            t = System.nanoTime();
             String redisStatus = matchStatusRepository.getMatchStatus(matchId);
-            if (!"OPEN".equalsIgnoreCase(redisStatus)) {
-                SeatConfirmationResponse response = buildClosedResponse(matchId, request.getUserId().toString());
-
-                // 실패 이벤트 발행
-                publishConfirmationEvent(request.getUserId(), matchId, request.getSeatIds(), null,
-                        false, response.getMessage(), startTime);
-
-                return response;
+            // 만석 자동 마감은 새 선점만 막는다. 이미 선점한 좌석의 확정은 받는다 (만료는 스크립트가 검사)
+            boolean open = "OPEN".equalsIgnoreCase(redisStatus)
+                    || ("CLOSED".equalsIgnoreCase(redisStatus) && matchStatusRepository.isSoldOut(matchId));
+            phases[TicketingMetrics.PHASE_STATUS_CHECK] = System.nanoTime() - t;
+            if (!open) {
+                outcome = TicketingMetrics.ConfirmOutcome.CLOSED;
+                return rejectClosed(matchId, request, startTime);
             }
 
-            // 2. Redis에서 좌석 상태 확인
+            // 2. Redis 원자적 확정 (소유자/만료/중복 확정 검사 + 확정 기록을 한 번에)
             List<String> requestedSeats = request.getSeatIds();
             Long userId = request.getUserId();
 
-            for (String seatId : requestedSeats) {
-                Optional<Long> ownerOpt = seatReservationRedisRepository.findOwner(matchId, seatId);
+            t = System.nanoTime();
+            Map<String, ConfirmFailureReason> failures = reservationExecutor.confirmSeatsAtomically(
+                    matchId, requestedSeats, userId, System.currentTimeMillis());
+            phases[TicketingMetrics.PHASE_LUA] = System.nanoTime() - t;
 
-                // 좌석이 선점되지 않았거나 다른 사용자가 선점한 경우
-                if (ownerOpt.isEmpty()) {
-                    SeatConfirmationResponse response = buildErrorResponse("좌석 " + seatId + "는 선점되지 않았습니다.");
+            if (!failures.isEmpty()) {
+                outcome = classify(failures);
+                SeatConfirmationResponse response = buildFailureResponse(matchId, userId, requestedSeats, failures);
 
-                    // 실패 이벤트 발행
-                    publishConfirmationEvent(request.getUserId(), matchId, request.getSeatIds(), null,
+                // 같은 선점을 다시 확정하려는 요청은 이벤트를 중복 발행하지 않는다
+                if (!isDuplicateConfirmation(failures)) {
+                    publishConfirmationEvent(userId, matchId, requestedSeats, null,
                             false, response.getMessage(), startTime);
-
-                    return response;
                 }
 
-                if (!ownerOpt.get().equals(userId)) {
-                    SeatConfirmationResponse response = buildConflictResponse(matchId, userId.toString(), requestedSeats);
-
-                    // 실패 이벤트 발행
-                    publishConfirmationEvent(request.getUserId(), matchId, request.getSeatIds(), null,
-                            false, response.getMessage(), startTime);
-
-                    return response;
-                }
+                return ConfirmResult.failed(errorCodeOf(outcome), response);
             }
 
-            // 3. 좌석이 유효하고 해당 사용자가 선점한 상태 → 확정 처리
+            // 3. 확정 완료 → 응답용 좌석 정보 구성
+            t = System.nanoTime();
             List<ConfirmedSeatDto> confirmedSeats = new ArrayList<>();
             List<String> sectionIds = new ArrayList<>();
 
             for (String seatId : requestedSeats) {
                 SeatMetaService.SeatMeta meta = seatMetaService.resolve(matchId, seatId);
 
-                confirmedSeats.add(ConfirmedSeatDto.builder()
-                        .seatId(seatId)
-                        .sectionId(meta.getSectionId())
-                        .build());
+                confirmedSeats.add(new ConfirmedSeatDto(seatId, meta.getSectionId()));
 
                 sectionIds.add(meta.getSectionId());
             }
@@ -121,25 +133,67 @@ public class SeatConfirmationService {
                     .matchId("match" + matchId)
                     .userId(userId.toString())
                     .build();
+            phases[TicketingMetrics.PHASE_RESPONSE] = System.nanoTime() - t;
+            outcome = TicketingMetrics.ConfirmOutcome.SUCCESS;
+
+            // 5. MySQL 확정 기록 (write-behind, 켜져 있을 때만)
+            confirmedSeatWriter.ifPresent(writer ->
+                    writer.enqueue(matchId, userId, confirmedSeats, System.currentTimeMillis()));
 
-            // 5. Kafka로 이벤트 발행 (비동기)
+            // 6. Kafka로 이벤트 발행 (비동기)
             publishConfirmationEvent(userId, matchId, requestedSeats, sectionIds,
                     true, "예약 확정", startTime);
 
-            return response;
+            return ConfirmResult.success(response);
         } catch (Exception e) {
             log.error("좌석 확정 중 오류 발생: {}", e.getMessage(), e);
 
-            SeatConfirmationResponse response = buildErrorResponse("좌석 확정 처리 중 오류가 발생했습니다: " + e.getMessage());
-
             // 실패 이벤트 발행
             publishConfirmationEvent(request.getUserId(), matchId, request.getSeatIds(), null,
                     false, e.getMessage(), startTime);
 
-            return response;
+            return ConfirmResult.rejected(ErrorCode.INTERNAL_ERROR);
+        } finally {
+            ticketingMetrics.recordConfirm(matchId, outcome, System.nanoTime() - startNanos, phases);
         }
     }
 
+    /**
+     * 확정 실패 사유를 메트릭 결과 태그로 분류한다. (응답 메시지 분기와 같은 우선순위)
+     */
+    private TicketingMetrics.ConfirmOutcome classify(Map<String, ConfirmFailureReason> failures) {
+        if (isDuplicateConfirmation(failures)) {
+            return TicketingMetrics.ConfirmOutcome.DUPLICATE;
+        }
+        if (failures.containsValue(ConfirmFailureReason.HELD_BY_OTHER)
+                || failures.containsValue(ConfirmFailureReason.ALREADY_CONFIRMED)) {
+            return TicketingMetrics.ConfirmOutcome.CONFLICT;
+        }
+        return failures.values().iterator().next() == ConfirmFailureReason.EXPIRED
+                ? TicketingMetrics.ConfirmOutcome.EXPIRED
+                : TicketingMetrics.ConfirmOutcome.NOT_HELD;
+    }
+
+    /**
+     * 좌석별 실패 결과의 응답 코드 (DUPLICATE는 이미 확정된 좌석이므로 충돌로 본다)
+     */
+    private static ErrorCode errorCodeOf(TicketingMetrics.ConfirmOutcome outcome) {
+        return switch (outcome) {
+            case EXPIRED -> ErrorCode.HOLD_EXPIRED;
+            case NOT_HELD -> ErrorCode.NOT_HELD;
+            default -> ErrorCode.SEATS_TAKEN;
+        };
+    }
+
+    /**
+     * 판매 종료 거절. 본문은 고정이므로 미리 만든 결과를 쓰고 실패 이벤트만 발행한다.
+     */
+    private ConfirmResult rejectClosed(Long matchId, SeatConfirmationRequest request, long startTime) {
+        publishConfirmationEvent(request.getUserId(), matchId, request.getSeatIds(), null,
+                false, ErrorCode.MATCH_CLOSED.getMessage(), startTime);
+        return ConfirmResult.rejected(ErrorCode.MATCH_CLOSED);
+    }
+
     /**
      * 좌석 확정 이벤트 발행 헬퍼 메서드
      */
@@ -164,29 +218,41 @@ public class SeatConfirmationService {
                 duration);
     }
 
-    private SeatConfirmationResponse buildErrorResponse(String message) {
-        return SeatConfirmationResponse.builder()
-                .success(false)
-                .message(message)
-                .build();
-    }
+    /**
+     * 다른 사용자 좌석이거나 이미 확정된 좌석이 있으면 충돌(409),
+     * 그 외(미선점, 만료, 배치에 없는 좌석)는 잘못된 요청으로 응답한다.
+     */
+    private SeatConfirmationResponse buildFailureResponse(Long matchId, Long userId, List<String> requestedSeats,
+                                                          Map<String, ConfirmFailureReason> failures) {
+        List<FailedSeatDto> failedSeats = new ArrayList<>(failures.size());
+        for (Map.Entry<String, ConfirmFailureReason> e : failures.entrySet()) {
+            failedSeats.add(new FailedSeatDto(e.getKey(), e.getValue().name()));
+        }
+
+        boolean conflict = failures.containsValue(ConfirmFailureReason.HELD_BY_OTHER)
+                || failures.containsValue(ConfirmFailureReason.ALREADY_CONFIRMED);
+
+        String message;
+        if (conflict) {
+            message = "이미 예약된 좌석이 포함되어 전체 예약에 실패했습니다.";
+        } else {
+            Map.Entry<String, ConfirmFailureReason> first = failures.entrySet().iterator().next();
+            message = first.getValue() == ConfirmFailureReason.EXPIRED
+                    ? "좌석 " + first.getKey() + "의 선점 시간이 만료되었습니다."
+                    : "좌석 " + first.getKey() + "는 선점되지 않았습니다.";
+        }
 
-    private SeatConfirmationResponse buildConflictResponse(Long matchId, String userId, List<String> requestedSeats) {
         return SeatConfirmationResponse.builder()
                 .success(false)
-                .message("이미 예약된 좌석이 포함되어 전체 예약에 실패했습니다.")
+                .message(message)
                 .matchId("match" + matchId)
-                .userId(userId)
+                .userId(userId.toString())
                 .requestedSeats(requestedSeats)
+                .failedSeats(failedSeats)
                 .build();
     }
 
-    private SeatConfirmationResponse buildClosedResponse(Long matchId, String userId) {
-        return SeatConfirmationResponse.builder()
-                .success(false)
-                .message("이 이벤트는 더 이상 예매할 수 없습니다.")
-                .matchId("match" + matchId)
-                .status("CLOSED")
-                .build();
+    private boolean isDuplicateConfirmation(Map<String, ConfirmFailureReason> failures) {
+        return failures.values().stream().allMatch(r -> r == ConfirmFailureReason.ALREADY_CONFIRMED);
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,18 @@
 package com.ticketing.seat.service;
 
+import com.ticketing.seat.dto.SectionAvailabilityDto;
+import com.ticketing.seat.dto.SectionAvailabilityResponse;
+import com.ticketing.seat.layout.HallLayout;
+import com.ticketing.seat.redis.RedisKeys;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 좌석 카운트 조회 서비스
  * Redis Counter 방식으로 O(1) 성능 보장
@@ -13,14 +22,56 @@ import org.springframework.stereotype.Service;
 public class SeatCountService {
 
     private final StringRedisTemplate redisTemplate;
+    private final SeatMetaService seatMetaService;
 
     /**
      * 현재 선점된 좌석 수 조회 (O(1))
      * 통계나 대시보드에서 사용
      */
     public long getReservedSeatCount(Long matchId) {
-        String countKey = "match:" + matchId + ":reserved_count";
-        String value = redisTemplate.opsForValue().get(countKey);
+        String value = redisTemplate.opsForValue().get(RedisKeys.reservedCount(matchId));
         return value == null ? 0 : Long.parseLong(value);
     }
-}
\ No newline at end of file
+
+    /**
+     * 구역/등급별 잔여 좌석 요약 (HGETALL 한 번)
+     * 선점/회수/확정 스크립트가 match:{matchId}:section_inventory를 같이 갱신한다.
+     * 아직 한 번도 선점되지 않은 구역은 필드가 없으므로 전체 좌석이 남은 것으로 본다.
+     */
+    public SectionAvailabilityResponse getSectionAvailability(Long matchId) {
+        HallLayout layout = seatMetaService.layoutOf(matchId);
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(RedisKeys.sectionInventory(matchId));
+
+        List<SectionAvailabilityDto> sections = new ArrayList<>(layout.sectionCount());
+        Map<String, Integer> remainingByGrade = new LinkedHashMap<>();
+        int capacity = layout.seatsPerSection();
+        for (int i = 0; i < layout.sectionCount(); i++) {
+            String sectionId = layout.sectionAt(i);
+            String grade = layout.gradeOfSection(i);
+            int remaining = clamp(intValue(fields.get(sectionId), capacity), capacity);
+            int sold = clamp(intValue(fields.get(sectionId + ":sold"), 0), capacity);
+            sections.add(SectionAvailabilityDto.builder()
+                    .sectionId(sectionId)
+                    .grade(grade)
+                    .capacity(capacity)
+                    .remaining(remaining)
+                    .sold(sold)
+                    .build());
+            remainingByGrade.merge(grade, remaining, Integer::sum);
+        }
+
+        return SectionAvailabilityResponse.builder()
+                .matchId(matchId)
+                .sections(sections)
+                .remainingByGrade(remainingByGrade)
+                .build();
+    }
+
+    private static int intValue(Object value, int defaultValue) {
+        return value == null ? defaultValue : Integer.parseInt(value.toString());
+    }
+
+    private static int clamp(int value, int capacity) {
+        return Math.max(0, Math.min(value, capacity));
+    }
+}
@@ -0,0 +1,69 @@
+package com.ticketing.seat.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketing.seat.cache.AsyncLoads;
+import com.ticketing.seat.concurrency.ReservationExecutor;
+import com.ticketing.seat.concurrency.SeatOccupancy;
+import com.ticketing.seat.dto.SeatMapSnapshotResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 좌석 현황 스냅샷.
+ * Redis 좌석 상태(선점 만료 ZSET + 확정 기록)를 읽어 만들고, 매치별로 잠깐 캐싱한다.
+ * 오픈 순간 수만 명이 동시에 조회해도 Redis 조회는 TTL당 노드별 한 번으로 끝난다. (매치별 single-flight, AsyncLoads 참고)
+ * 스냅샷 이후 변경분은 SeatMapStreamService의 SSE로 받는다.
+ *
+ * 캐싱된 스냅샷은 최대 TTL만큼 이전 것이다. 스트림은 최근 묶음을 새 구독자에게 다시 보내 그 사이를 메우지만,
+ * 매치 스트림이 생기기 전에 찍힌 스냅샷은 메울 변경분이 없으므로 쓰지 않고 새로 읽는다.
+ */
+@Service
+public class SeatMapService {
+
+    private final ReservationExecutor reservationExecutor;
+    private final SeatMetaService seatMetaService;
+    private final SeatMapStreamService seatMapStreamService;
+    private final AsyncLoadingCache<Long, SeatMapSnapshotResponse> snapshots;
+
+    public SeatMapService(ReservationExecutor reservationExecutor,
+                          SeatMetaService seatMetaService,
+                          SeatMapStreamService seatMapStreamService,
+                          @Value("${ticketing.seat-map.snapshot-max-size:10000}") long maxSize,
+                          @Value("${ticketing.seat-map.snapshot-ttl-millis:500}") long ttlMillis) {
+        this.reservationExecutor = reservationExecutor;
+        this.seatMetaService = seatMetaService;
+        this.seatMapStreamService = seatMapStreamService;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .executor(AsyncLoads.LOADER)
+                .buildAsync(this::load);
+    }
+
+    public SeatMapSnapshotResponse snapshot(Long matchId) {
+        CompletableFuture<SeatMapSnapshotResponse> cached = snapshots.get(matchId);
+        SeatMapSnapshotResponse snapshot = AsyncLoads.join(cached);
+        if (snapshot.getTakenAt() < seatMapStreamService.streamStartedAt(matchId)) {
+            // 스트림이 생기기 전 스냅샷: 버리고 다시 읽는다 (다른 요청이 이미 바꿨으면 그것을 쓴다)
+            snapshots.asMap().remove(matchId, cached);
+            snapshot = AsyncLoads.join(snapshots.get(matchId));
+        }
+        return snapshot;
+    }
+
+    private SeatMapSnapshotResponse load(Long matchId) {
+        long now = System.currentTimeMillis();
+        SeatOccupancy occupancy = reservationExecutor.readOccupancy(matchId, now);
+        return SeatMapSnapshotResponse.builder()
+                .matchId(matchId)
+                .capacity(seatMetaService.layoutOf(matchId).capacity())
+                .heldSeats(occupancy.getHeldSeats())
+                .confirmedSeats(occupancy.getConfirmedSeats())
+                .takenAt(now)
+                .build();
+    }
+}
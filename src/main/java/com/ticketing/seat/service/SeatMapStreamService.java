@@ -0,0 +1,263 @@
+package com.ticketing.seat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.seat.dto.SeatChangeDto;
+import com.ticketing.seat.dto.SeatMapDeltaBatch;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 좌석 변경분 SSE 스트림.
+ *
+ * - Redis 구독은 노드당 한 번(SeatChangeListener)이고, 구독자 수와 무관하게 Redis 조회가 없다.
+ * - 변경분은 매치별로 모았다가 flush-interval-ms 마다 한 묶음으로 보낸다.
+ *   한 묶음은 한 번만 직렬화해서 모든 구독자에게 같은 바이트를 쓴다.
+ * - 구독자마다 크기가 정해진 전송 큐(max-queued-batches)가 있고, 큐는 가상 스레드가 비운다.
+ *   flush는 큐에 넣기만 하고 전송을 기다리지 않으므로 느린 클라이언트가 다른 구독자나 다음 묶음을 막지 않는다.
+ *   큐가 가득 찬(뒤처진) 구독자는 연결을 닫는다. 클라이언트는 다시 연결해 스냅샷부터 받는다.
+ * - 최근 replay-window-ms 동안 보낸 묶음은 보관했다가 새 구독자에게 먼저 보낸다.
+ *   캐싱된 스냅샷(SeatMapService)이 구독 시각보다 조금 이전일 수 있어, 그 사이 변경분을 잃지 않기 위함이다.
+ *   (다시 받은 변경분도 takenAt 기준으로 걸러지므로 클라이언트 처리는 같다)
+ * - 구독자가 없는 매치의 변경분은 버린다.
+ *
+ * 클라이언트 사용 순서: 스트림 연결 → 스냅샷 조회 → 스냅샷 takenAt 이후(at >= takenAt) 변경분만 적용
+ */
+@Slf4j
+@Service
+public class SeatMapStreamService {
+
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMillis;
+    private final int maxQueuedBatches;
+    private final long replayWindowMillis;
+    private final Map<Long, MatchStream> streams = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SeatMapStreamService(ObjectMapper objectMapper,
+                                @Value("${ticketing.seat-map.emitter-timeout-ms:600000}") long emitterTimeoutMillis,
+                                @Value("${ticketing.seat-map.max-queued-batches:64}") int maxQueuedBatches,
+                                @Value("${ticketing.seat-map.replay-window-ms:1500}") long replayWindowMillis) {
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.maxQueuedBatches = maxQueuedBatches;
+        this.replayWindowMillis = replayWindowMillis;
+    }
+
+    public SseEmitter subscribe(Long matchId) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(emitterTimeoutMillis), maxQueuedBatches);
+        long now = System.currentTimeMillis();
+        // flush의 빈 스트림 제거와 겹치지 않도록 같은 compute 안에서 등록한다.
+        // 보관 묶음 재전송과 flush 전파는 같은 락으로 순서를 맞춘다 (묶음이 빠지거나 뒤바뀌지 않음)
+        MatchStream stream = streams.compute(matchId, (id, existing) -> {
+            MatchStream s = existing != null ? existing : new MatchStream(now);
+            synchronized (s) {
+                s.subscribers.add(subscriber);
+                for (SentBatch sent : s.history) {
+                    if (sent.sentAt >= now - replayWindowMillis) {
+                        subscriber.queue.offer(sent.event);
+                    }
+                }
+            }
+            return s;
+        });
+
+        SseEmitter emitter = subscriber.emitter;
+        Runnable remove = () -> stream.subscribers.remove(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        // 응답 헤더를 바로 내보내고, 클라이언트가 스냅샷을 요청할 시점을 알린다.
+        // ready 전에 큐의 묶음이 나가지 않도록 구독자는 draining=true로 시작한다
+        try {
+            emitter.send(SseEmitter.event().name("ready").data(stream.seq.get()));
+        } catch (IOException e) {
+            stream.subscribers.remove(subscriber);
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        subscriber.draining.set(false);
+        schedule(stream, subscriber);
+        return emitter;
+    }
+
+    /**
+     * 매치 스트림이 처음 만들어진 시각 (스트림이 없으면 -1).
+     * 이보다 이전에 찍힌 스냅샷은 그 사이 변경분을 보관하고 있지 않으므로 쓰면 안 된다.
+     */
+    public long streamStartedAt(Long matchId) {
+        MatchStream stream = streams.get(matchId);
+        return stream == null ? -1 : stream.startedAt;
+    }
+
+    /**
+     * SeatChangeListener에서 호출. 구독자가 있는 매치만 모아 둔다.
+     */
+    public void onChange(Long matchId, SeatChangeDto change) {
+        MatchStream stream = streams.get(matchId);
+        if (stream != null && !stream.subscribers.isEmpty()) {
+            stream.pending.add(change);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ticketing.seat-map.flush-interval-ms:150}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        streams.forEach((matchId, stream) -> {
+            if (stream.subscribers.isEmpty()) {
+                stream.pending.clear();
+                // 구독자가 다시 붙지 않았을 때만 제거
+                streams.computeIfPresent(matchId, (id, s) -> s.subscribers.isEmpty() ? null : s);
+                return;
+            }
+            publish(matchId, stream, now);
+        });
+    }
+
+    /**
+     * 쌓인 변경분을 한 묶음으로 직렬화해 보관하고 모든 구독자 큐에 넣는다. (전송은 기다리지 않는다)
+     */
+    private void publish(Long matchId, MatchStream stream, long now) {
+        List<SeatChangeDto> changes = new ArrayList<>();
+        SeatChangeDto change;
+        while ((change = stream.pending.poll()) != null) {
+            changes.add(change);
+        }
+
+        synchronized (stream) {
+            while (!stream.history.isEmpty() && stream.history.peekFirst().sentAt < now - replayWindowMillis) {
+                stream.history.pollFirst();
+            }
+            if (changes.isEmpty()) {
+                return;
+            }
+
+            SeatMapDeltaBatch batch = SeatMapDeltaBatch.builder()
+                    .matchId(matchId)
+                    .seq(stream.seq.incrementAndGet())
+                    .changes(changes)
+                    .build();
+
+            Set<ResponseBodyEmitter.DataWithMediaType> event;
+            try {
+                event = SseEmitter.event()
+                        .id(String.valueOf(batch.getSeq()))
+                        .name("seats")
+                        .data(objectMapper.writeValueAsString(batch), MediaType.APPLICATION_JSON)
+                        .build();
+            } catch (JsonProcessingException e) {
+                log.error("Failed to serialize seat map delta: matchId={}", matchId, e);
+                return;
+            }
+            stream.history.addLast(new SentBatch(now, event));
+
+            for (Subscriber subscriber : stream.subscribers) {
+                if (subscriber.queue.offer(event)) {
+                    schedule(stream, subscriber);
+                } else {
+                    // 뒤처진 구독자: 더 쌓지 않고 연결을 닫는다 (다시 연결해 스냅샷부터 받는다)
+                    log.debug("Closing lagging seat map subscriber: matchId={}, queued={}",
+                            matchId, subscriber.queue.size());
+                    stream.subscribers.remove(subscriber);
+                    subscriber.emitter.complete();
+                }
+            }
+        }
+    }
+
+    /**
+     * 구독자 큐를 비우는 전송 작업이 없으면 하나 띄운다. (구독자당 최대 하나라 순서가 유지된다)
+     */
+    private void schedule(MatchStream stream, Subscriber subscriber) {
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(stream, subscriber));
+        }
+    }
+
+    private void drain(MatchStream stream, Subscriber subscriber) {
+        while (true) {
+            Set<ResponseBodyEmitter.DataWithMediaType> event = subscriber.queue.poll();
+            if (event == null) {
+                subscriber.draining.set(false);
+                // 비운 직후 들어온 묶음이 있으면 이어서 보낸다
+                if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                subscriber.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // 끊긴 연결
+                stream.subscribers.remove(subscriber);
+                subscriber.queue.clear();
+                subscriber.emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streams.values().forEach(stream -> stream.subscribers.forEach(s -> s.emitter.complete()));
+        sender.shutdown();
+    }
+
+    private static class MatchStream {
+        private final long startedAt;
+        // 구독자가 수만 명일 수 있어 복사 비용이 큰 CopyOnWriteArrayList 대신 동시성 Set을 쓴다
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final ConcurrentLinkedQueue<SeatChangeDto> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicLong seq = new AtomicLong();
+        // 최근 보낸 묶음 (this 락으로 보호)
+        private final ArrayDeque<SentBatch> history = new ArrayDeque<>();
+
+        private MatchStream(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        // 전송 작업이 돌고 있는지 (ready 이벤트를 보내기 전까지는 true)
+        private final AtomicBoolean draining = new AtomicBoolean(true);
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    private static final class SentBatch {
+        private final long sentAt;
+        private final Set<ResponseBodyEmitter.DataWithMediaType> event;
+
+        private SentBatch(long sentAt, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            this.sentAt = sentAt;
+            this.event = event;
+        }
+    }
+}
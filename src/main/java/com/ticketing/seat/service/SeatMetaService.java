@@ -1,28 +1,65 @@
 package com.ticketing.seat.service;
 
+import com.ticketing.seat.cache.MatchMeta;
+import com.ticketing.seat.cache.MatchMetaCache;
+import com.ticketing.seat.layout.HallLayout;
+import com.ticketing.seat.layout.HallLayoutCatalog;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 좌석 메타(구역/열/등급/가격 등급) 조회.
+ * 매치의 룸(MatchMeta.roomId) 배치를 HallLayoutCatalog에서 찾고, 좌석별 SeatMeta는 배치마다 한 번만 만든다.
+ * 선점/확정 응답과 이벤트에서 좌석마다 호출되므로 배치에 있는 좌석은 할당 없이 조회한다.
+ */
 @Component
 public class SeatMetaService {
 
+    private final HallLayoutCatalog hallLayoutCatalog;
+    private final MatchMetaCache matchMetaCache;
+    // 배치(불변, 카탈로그가 공유) -> 좌석 인덱스별 메타
+    private final Map<HallLayout, SeatMeta[]> seatMetas = new ConcurrentHashMap<>();
+
+    public SeatMetaService(HallLayoutCatalog hallLayoutCatalog, MatchMetaCache matchMetaCache) {
+        this.hallLayoutCatalog = hallLayoutCatalog;
+        this.matchMetaCache = matchMetaCache;
+    }
+
     public SeatMeta resolve(Long matchId, String seatId) {
-        // TODO: preset_halls/room/좌석 규칙에 맞게 파싱/조회
-        // 예: "A-12" -> section="A", grade="VIP" (샘플)
-        String section = parseSection(seatId); // ex) "A"
-        String grade   = resolveGrade(matchId, seatId); // ex) "VIP"
-        return new SeatMeta(section, grade);
+        HallLayout layout = layoutOf(matchId);
+        int index = layout.indexOf(seatId);
+        if (index < 0) {
+            // 배치에 없는 좌석: 구역만 ID에서 읽는다
+            return new SeatMeta(parseSection(seatId), HallLayout.UNKNOWN_GRADE, -1, -1, 0);
+        }
+        return seatMetas.computeIfAbsent(layout, SeatMetaService::buildSeatMetas)[index];
     }
 
-    private String parseSection(String seatId) {
-        int idx = seatId.indexOf('-');
-        return (idx > 0) ? seatId.substring(0, idx) : "UNKNOWN";
+    /**
+     * 매치의 홀 좌석 배치 (좌석 ID <-> 연속 인덱스)
+     */
+    public HallLayout layoutOf(Long matchId) {
+        Long roomId = matchMetaCache.find(matchId).map(MatchMeta::getRoomId).orElse(null);
+        return hallLayoutCatalog.layoutOf(roomId);
+    }
+
+    private static SeatMeta[] buildSeatMetas(HallLayout layout) {
+        SeatMeta[] metas = new SeatMeta[layout.capacity()];
+        for (int i = 0; i < metas.length; i++) {
+            int section = layout.sectionOf(i);
+            metas[i] = new SeatMeta(layout.sectionAt(section), layout.gradeOfSection(section), i,
+                    layout.rowOf(i), layout.priceTierOfSection(section));
+        }
+        return metas;
     }
 
-    private String resolveGrade(Long matchId, String seatId) {
-        // TODO: matchId 기반 좌석 등급 조회 (rooms/preset_halls 테이블 등)
-        return "UNKNOWN";
+    private String parseSection(String seatId) {
+        int idx = seatId.lastIndexOf('-');
+        return (idx > 0) ? seatId.substring(0, idx) : "UNKNOWN";
     }
 
     @Getter
@@ -30,5 +67,8 @@ public class SeatMetaService {
     public static class SeatMeta {
         private final String sectionId;
         private final String grade;
+        private final int index;       // 배치 내 좌석 인덱스 (배치에 없으면 -1)
+        private final int row;         // 홀 전체 기준 열 번호 (배치에 없으면 -1)
+        private final int priceTier;
     }
 }
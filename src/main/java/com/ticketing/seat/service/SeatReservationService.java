@@ -1,111 +1,264 @@
 package com.ticketing.seat.service;
 
-import com.ticketing.seat.concurrency.LuaReservationExecutor;
+import com.ticketing.seat.cache.MatchMeta;
+import com.ticketing.seat.cache.MatchMetaCache;
+import com.ticketing.seat.concurrency.HoldCoalescer;
+import com.ticketing.seat.concurrency.HoldRequest;
+import com.ticketing.seat.concurrency.ReservationExecutor;
 import com.ticketing.seat.dto.ReservedSeatInfoDto;
 import com.ticketing.seat.dto.SeatReservationRequest;
 import com.ticketing.seat.dto.SeatReservationResponse;
-import com.ticketing.seat.entity.Match;
-import com.ticketing.seat.exception.MatchClosedException;
-import com.ticketing.seat.exception.TooManySeatsRequestedException;
+import com.ticketing.seat.layout.HallLayout;
+import com.ticketing.seat.metrics.TicketingMetrics;
 import com.ticketing.seat.redis.MatchStatusRepository;
-import com.ticketing.seat.repository.MatchRepository;
+import com.ticketing.seat.result.ErrorCode;
+import com.ticketing.seat.result.HoldResult;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @RequiredArgsConstructor
 public class SeatReservationService {
 
     private static final int MAX_SEATS_PER_REQUEST = 2;
+    // 자동 배정에서 고른 좌석을 다른 노드가 먼저 선점했을 때 다시 고르는 횟수
+    private static final int BEST_AVAILABLE_ATTEMPTS = 3;
 
-    private final MatchRepository matchRepository;
+    private final MatchMetaCache matchMetaCache;
     private final MatchStatusRepository matchStatusRepository;
-    private final LuaReservationExecutor luaReservationExecutor;
+    private final ReservationExecutor reservationExecutor;
     private final SeatMetaService seatMetaService;
     private final SeatCountService seatCountService;
+    private final Optional<HoldCoalescer> holdCoalescer;
+    private final TicketingMetrics ticketingMetrics;
+    private final BestAvailableSeatService bestAvailableSeatService;
 
-    @Transactional(readOnly = true)
-    public SeatReservationResponse reserveSeats(SeatReservationRequest req) {
+    // 선점 유지 시간 (만료 후 HoldExpiryReclaimer가 회수)
+    @Value("${ticketing.hold.ttl-seconds:300}")
+    private long holdTtlSeconds;
+
+    /**
+     * JDBC 트랜잭션 없이 동작한다. 매치 정보는 MatchMetaCache에서 읽는다.
+     * 단계별 소요 시간과 결과는 TicketingMetrics로 기록한다.
+     *
+     * seatIds 없이 quantity만 보내면 서버가 sectionId/grade 안에서 연속 빈자리를 골라 선점한다. (자동 배정)
+     *
+     * 거절(개수 오류, 닫힌 매치, 없는 매치)은 예외 대신 미리 만든 HoldResult로 돌려준다.
+     * 오픈 직후 요청 대부분이 거절이라 스택 트레이스 생성과 응답 객체 할당을 피한다.
+     */
+    public HoldResult reserveSeats(SeatReservationRequest req) {
         Long matchId = req.getMatchId();
         Long userId  = req.getUserId();
 
-        // 1. 좌석 개수 검증
-        int requested = (req.getSeatIds() == null) ? 0 : req.getSeatIds().size();
-        if (requested == 0 || requested > MAX_SEATS_PER_REQUEST) {
-            throw new TooManySeatsRequestedException(requested);
-        }
+        long startNanos = System.nanoTime();
+        long[] phases = TicketingMetrics.newPhaseTimes();
+        TicketingMetrics.HoldOutcome outcome = TicketingMetrics.HoldOutcome.ERROR;
 
-        // 2. Redis 경기 상태 확인 (OPEN이면 예약 가능)
-        boolean redisOpen = matchStatusRepository.isOpen(matchId);
-        if (!redisOpen) {
-            throw new MatchClosedException(matchId);
-        }
+        try {
+            // 1. 좌석 개수 검증
+            boolean bestAvailable = (req.getSeatIds() == null || req.getSeatIds().isEmpty())
+                    && req.getQuantity() != null;
+            int requested = bestAvailable ? req.getQuantity()
+                    : (req.getSeatIds() == null) ? 0 : req.getSeatIds().size();
+            if (requested <= 0 || requested > MAX_SEATS_PER_REQUEST) {
+                outcome = TicketingMetrics.HoldOutcome.INVALID;
+                return HoldResult.rejected(ErrorCode.INVALID_SEAT_COUNT);
+            }
+            // 같은 좌석이 두 번 들어오면 선점 수/구역 재고가 좌석 수보다 많이 움직인다
+            if (!bestAvailable && hasDuplicates(req.getSeatIds())) {
+                outcome = TicketingMetrics.HoldOutcome.INVALID;
+                return HoldResult.rejected(ErrorCode.DUPLICATE_SEATS);
+            }
+
+            // 2. Redis 경기 상태 확인 (OPEN이면 예약 가능)
+            long t = System.nanoTime();
+            boolean redisOpen = matchStatusRepository.isOpen(matchId);
+            phases[TicketingMetrics.PHASE_STATUS_CHECK] = System.nanoTime() - t;
+            if (!redisOpen) {
+                outcome = TicketingMetrics.HoldOutcome.CLOSED;
+                return HoldResult.rejected(ErrorCode.MATCH_NOT_OPEN);
+            }
+
+            // 3. 경기 정보 조회 (로컬 캐시, 미스일 때만 DB)
+            t = System.nanoTime();
+            Optional<MatchMeta> found = matchMetaCache.find(matchId);
+            phases[TicketingMetrics.PHASE_DB_LOOKUP] = System.nanoTime() - t;
+            if (found.isEmpty()) {
+                outcome = TicketingMetrics.HoldOutcome.NOT_FOUND;
+                return HoldResult.rejected(ErrorCode.MATCH_NOT_FOUND);
+            }
+            MatchMeta match = found.get();
 
-        // 3. DB에서 경기 정보 조회
-        Match match = matchRepository.findById(matchId)
-                .orElseThrow(() -> new IllegalArgumentException("Match not found: " + matchId));
+            if (!match.isPlaying()) {
+                outcome = TicketingMetrics.HoldOutcome.CLOSED;
+                return HoldResult.rejected(ErrorCode.MATCH_NOT_OPEN);
+            }
+            // 배치에 없는 좌석은 선점 충돌이 아니라 잘못된 요청이다 (실행기는 Redis로 보내지 않고 false를 돌려준다)
+            if (!bestAvailable && hasUnknownSeat(matchId, req.getSeatIds())) {
+                outcome = TicketingMetrics.HoldOutcome.INVALID;
+                return HoldResult.rejected(ErrorCode.UNKNOWN_SEAT);
+            }
 
-        if (match.getStatus() != Match.MatchStatus.PLAYING) {
-            throw new MatchClosedException(matchId);
+            // 4. Redis 원자적 선점 시도 (좌석 선점 + 카운트 증가 + 만석 시 자동 CLOSED)
+            long now = System.currentTimeMillis();
+            long expiresAt = now + holdTtlSeconds * 1000;
+            t = System.nanoTime();
+            List<String> seatIds;
+            boolean ok;
+            try {
+                if (bestAvailable) {
+                    seatIds = holdBestAvailable(req, match.getMaxUser(), requested, now, expiresAt);
+                    if (seatIds == null) {
+                        // 고를 좌석 자체가 없으면 충돌이 아니다
+                        phases[TicketingMetrics.PHASE_LUA] = System.nanoTime() - t;
+                        outcome = TicketingMetrics.HoldOutcome.NO_SEATS;
+                        return HoldResult.rejected(ErrorCode.NO_SEATS_AVAILABLE);
+                    }
+                    ok = !seatIds.isEmpty();
+                } else {
+                    seatIds = req.getSeatIds();
+                    ok = tryReserve(new HoldRequest(
+                            matchId,
+                            seatIds,
+                            userId,
+                            match.getMaxUser(),
+                            now,
+                            expiresAt
+                    ));
+                }
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof TimeoutException)) {
+                    throw e;
+                }
+                // 코얼레서 응답을 기다리다 시간 초과: 선점이 이미 들어갔을 수 있으므로 충돌/오류가 아니라 재시도 안내.
+                // 같은 좌석으로 다시 요청하면 실행기가 앞선 시도의 선점을 이어받아 성공으로 돌려준다
+                phases[TicketingMetrics.PHASE_LUA] = System.nanoTime() - t;
+                outcome = TicketingMetrics.HoldOutcome.TIMEOUT;
+                return HoldResult.rejected(ErrorCode.HOLD_TIMEOUT);
+            }
+            phases[TicketingMetrics.PHASE_LUA] = System.nanoTime() - t;
+
+            t = System.nanoTime();
+            HoldResult result;
+            if (!ok) {
+                outcome = TicketingMetrics.HoldOutcome.CONFLICT;
+                result = HoldResult.conflict(buildFailureResponse(matchId, seatIds));
+            } else {
+                outcome = TicketingMetrics.HoldOutcome.SUCCESS;
+                result = HoldResult.success(
+                        buildSuccessResponse(matchId, seatIds, Instant.ofEpochMilli(expiresAt).toString()));
+            }
+            phases[TicketingMetrics.PHASE_RESPONSE] = System.nanoTime() - t;
+            return result;
+        } finally {
+            ticketingMetrics.recordHold(matchId, outcome, System.nanoTime() - startNanos, phases);
         }
+    }
 
-        // 4. Redis 원자적 선점 시도 (좌석 선점 + 카운트 증가 + 만석 시 자동 CLOSED)
-        boolean ok = luaReservationExecutor.tryReserveSeatsAtomically(
-                matchId,
-                req.getSeatIds(),
-                userId,
-                match.getMaxUser()
-        );
+    /**
+     * 연속 빈자리를 골라 선점한다. 고른 좌석을 다른 노드가 먼저 가져갔으면 다시 고른다.
+     *
+     * @return 선점한 좌석. 조건에 맞는 빈자리가 없으면 null, 고른 좌석을 매번 다른 노드에 뺏기면 빈 목록
+     */
+    private List<String> holdBestAvailable(SeatReservationRequest req, int totalSeats, int quantity,
+                                           long now, long expiresAt) {
+        Long matchId = req.getMatchId();
+        for (int attempt = 0; attempt < BEST_AVAILABLE_ATTEMPTS; attempt++) {
+            List<String> picked = bestAvailableSeatService.pick(matchId, req.getSectionId(), req.getGrade(), quantity);
+            if (picked.isEmpty()) {
+                return null;
+            }
+            boolean held;
+            try {
+                held = tryReserve(new HoldRequest(matchId, picked, req.getUserId(), totalSeats, now, expiresAt));
+            } catch (RuntimeException e) {
+                bestAvailableSeatService.unpick(matchId, picked, false);
+                throw e;
+            }
+            if (held) {
+                return picked;
+            }
+            bestAvailableSeatService.unpick(matchId, picked, true);
+        }
+        return List.of();
+    }
 
-        if (!ok) {
-            return buildFailureResponse(matchId, req.getSeatIds(), "Seats already taken");
+    /**
+     * 요청당 좌석이 몇 개뿐이라 Set을 만들지 않고 비교한다.
+     */
+    static boolean hasDuplicates(List<String> seatIds) {
+        for (int i = 1; i < seatIds.size(); i++) {
+            for (int j = 0; j < i; j++) {
+                if (seatIds.get(i).equals(seatIds.get(j))) {
+                    return true;
+                }
+            }
         }
+        return false;
+    }
 
-        return buildSuccessResponse(matchId, req.getSeatIds());
+    private boolean hasUnknownSeat(Long matchId, List<String> seatIds) {
+        HallLayout layout = seatMetaService.layoutOf(matchId);
+        for (String seatId : seatIds) {
+            if (layout.indexOf(seatId) < 0) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private SeatReservationResponse buildFailureResponse(Long matchId, List<String> seatIds, String reason) {
-        List<ReservedSeatInfoDto> failed = seatIds.stream()
-                .map(seatId -> {
-                    SeatMetaService.SeatMeta meta = seatMetaService.resolve(matchId, seatId);
-                    return ReservedSeatInfoDto.builder()
-                            .sectionId(meta.getSectionId())
-                            .seatId(seatId)
-                            .grade(meta.getGrade())
-                            .expiresAt(null)
-                            .matchId(matchId)
-                            .build();
-                })
-                .toList();
+    /**
+     * 코얼레서가 켜져 있으면 같은 매치 요청과 묶어서 파이프라인으로 보낸다.
+     * 코얼레서 future는 ticketing.hold-coalescer.timeout-ms 안에 완료(또는 TimeoutException)되므로 join이 무한히 걸리지 않는다.
+     * 시간 초과는 CompletionException(TimeoutException)으로 던져지고 reserveSeats가 HOLD_TIMEOUT으로 돌려준다.
+     */
+    private boolean tryReserve(HoldRequest hold) {
+        if (holdCoalescer.isPresent()) {
+            return holdCoalescer.get().submit(hold).join();
+        }
+        return reservationExecutor.tryReserveSeatsAtomically(
+                hold.getMatchId(),
+                hold.getSeatIds(),
+                hold.getUserId(),
+                hold.getTotalSeats(),
+                hold.getNowMillis(),
+                hold.getExpiresAtMillis()
+        );
+    }
 
+    /**
+     * 충돌 응답 본문 (errorCode는 HoldResult.conflict가 SEATS_TAKEN으로 채운다)
+     */
+    SeatReservationResponse buildFailureResponse(Long matchId, List<String> seatIds) {
         return SeatReservationResponse.builder()
                 .success(false)
                 .heldSeats(List.of())
-                .failedSeats(failed)
+                .failedSeats(toSeatInfos(matchId, seatIds, null))
                 .build();
     }
 
-    private SeatReservationResponse buildSuccessResponse(Long matchId, List<String> seatIds) {
-        List<ReservedSeatInfoDto> held = seatIds.stream()
-                .map(seatId -> {
-                    SeatMetaService.SeatMeta meta = seatMetaService.resolve(matchId, seatId);
-                    return ReservedSeatInfoDto.builder()
-                            .sectionId(meta.getSectionId())
-                            .seatId(seatId)
-                            .grade(meta.getGrade())
-                            .expiresAt(null)
-                            .matchId(matchId)
-                            .build();
-                })
-                .toList();
-
+    SeatReservationResponse buildSuccessResponse(Long matchId, List<String> seatIds, String expiresAt) {
         return SeatReservationResponse.builder()
                 .success(true)
-                .heldSeats(held)
+                .heldSeats(toSeatInfos(matchId, seatIds, expiresAt))
                 .failedSeats(List.of())
                 .build();
     }
-}
\ No newline at end of file
+
+    private List<ReservedSeatInfoDto> toSeatInfos(Long matchId, List<String> seatIds, String expiresAt) {
+        List<ReservedSeatInfoDto> seats = new ArrayList<>(seatIds.size());
+        for (String seatId : seatIds) {
+            SeatMetaService.SeatMeta meta = seatMetaService.resolve(matchId, seatId);
+            seats.add(new ReservedSeatInfoDto(meta.getSectionId(), seatId, meta.getGrade(), expiresAt, matchId));
+        }
+        return seats;
+    }
+}
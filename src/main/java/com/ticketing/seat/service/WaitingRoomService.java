@@ -0,0 +1,337 @@
+package com.ticketing.seat.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketing.seat.cache.AsyncLoads;
+import com.ticketing.seat.dto.WaitingRoomStatusResponse;
+import com.ticketing.seat.redis.RedisKeys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 매치별 대기열. 오픈 순간 몰린 사용자를 순번대로 일정 속도로 hold/confirm에 들여보낸다.
+ *
+ *   match:{id}:waiting      ZSET (member = userId, score = 순번). 다시 들어와도 같은 순번
+ *   match:{id}:waiting_seq  마지막 순번
+ *   match:{id}:waiting_gen  대기열 세대 (켤 때마다 1 증가, 끄더라도 지우지 않는다)
+ *   match:{id}:admission    HASH rate(초당 입장 수), upto(입장 순번 상한), at(upto를 마지막으로 올린 시각), gen(세대)
+ *
+ * - 입장 상한(upto)은 따로 스케줄러 없이, 조회하는 노드가 경과 시간 x rate 만큼 스크립트로 올린다.
+ *   시간 기준이라 여러 노드가 동시에 올려도 더 많이 입장되지 않는다.
+ * - 노드는 upto를 watermarkCacheMillis 동안 로컬에 들고 있는다. upto는 줄지 않으므로
+ *   오래된 값은 입장을 조금 늦출 뿐 잘못 들여보내지 않는다.
+ * - 토큰 = "{matchId}.{userId}.{순번}.{세대}.{만료 시각(초)}.{HMAC}". 검증에 Redis가 필요 없다.
+ *   모든 노드가 같은 ticketing.waiting-room.secret 을 써야 한다.
+ *   대기열을 껐다 켜면 순번이 1부터 다시 시작하므로, 세대가 다른 토큰은 받지 않는다. (이전 대기열의 앞 순번이 바로 입장하는 것 방지)
+ *   토큰은 queue-ttl-hours 뒤에 만료된다.
+ *
+ * admission HASH에 rate가 없는 매치는 대기열 없이 바로 hold/confirm 할 수 있다.
+ */
+@Slf4j
+@Service
+public class WaitingRoomService {
+
+    public static final String TOKEN_HEADER = "X-Waiting-Room-Token";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+    private static final long DISABLED = -1;
+
+    /**
+     * KEYS[1] = admission, KEYS[2] = waiting_gen, ARGV[1] = now(ms), ARGV[2] = rate, ARGV[3] = TTL(초)
+     * 꺼져 있던 대기열이면 새 세대를 연다. 이미 켜져 있으면 속도만 바꾼다.
+     */
+    private final DefaultRedisScript<Long> enableScript = new DefaultRedisScript<>(
+            """
+            if redis.call('HEXISTS', KEYS[1], 'gen') == 0 then
+                local gen = redis.call('INCR', KEYS[2])
+                redis.call('HSET', KEYS[1], 'gen', gen)
+            end
+            redis.call('HSETNX', KEYS[1], 'at', ARGV[1])
+            redis.call('HSET', KEYS[1], 'rate', ARGV[2])
+            redis.call('EXPIRE', KEYS[1], ARGV[3])
+            return tonumber(redis.call('HGET', KEYS[1], 'gen'))
+            """,
+            Long.class
+    );
+
+    /**
+     * KEYS[1] = waiting, KEYS[2] = waiting_seq, KEYS[3] = admission, ARGV[1] = userId, ARGV[2] = TTL(초)
+     * 반환: {순번, 세대} (대기열이 꺼져 있으면 세대 0)
+     */
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> joinScript = new DefaultRedisScript<>(
+            """
+            local gen = tonumber(redis.call('HGET', KEYS[3], 'gen') or '0')
+            local pos = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if pos then
+                return {tonumber(pos), gen}
+            end
+            pos = redis.call('INCR', KEYS[2])
+            redis.call('ZADD', KEYS[1], pos, ARGV[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[2])
+            return {pos, gen}
+            """,
+            List.class
+    );
+
+    /**
+     * KEYS[1] = admission, KEYS[2] = waiting_seq, ARGV[1] = now(ms)
+     * 반환: {upto, rate, gen} (대기열이 꺼져 있으면 {-1, 0, 0})
+     * 대기자보다 앞서 쌓이지 않도록 upto는 마지막 순번에서 멈춘다. (한꺼번에 몰려 들어오는 것 방지)
+     */
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> advanceScript = new DefaultRedisScript<>(
+            """
+            local rate = tonumber(redis.call('HGET', KEYS[1], 'rate'))
+            if not rate or rate <= 0 then
+                return {-1, 0, 0}
+            end
+            local now = tonumber(ARGV[1])
+            local upto = tonumber(redis.call('HGET', KEYS[1], 'upto') or '0')
+            local at = tonumber(redis.call('HGET', KEYS[1], 'at') or ARGV[1])
+            local tail = tonumber(redis.call('GET', KEYS[2]) or '0')
+
+            local add = math.floor((now - at) * rate / 1000)
+            if add > 0 then
+                upto = upto + add
+                at = at + math.floor(add * 1000 / rate)
+            end
+            if upto >= tail then
+                upto = tail
+                at = now
+            end
+            redis.call('HSET', KEYS[1], 'upto', upto, 'at', at)
+            return {upto, rate, tonumber(redis.call('HGET', KEYS[1], 'gen') or '0')}
+            """,
+            List.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final AsyncLoadingCache<Long, Admission> admissions;
+    private final Mac macPrototype;
+    private final long queueTtlSeconds;
+
+    public WaitingRoomService(StringRedisTemplate redisTemplate,
+                              @Value("${ticketing.waiting-room.secret:}") String secret,
+                              @Value("${ticketing.waiting-room.watermark-cache-ms:250}") long watermarkCacheMillis,
+                              @Value("${ticketing.waiting-room.queue-ttl-hours:24}") long queueTtlHours) {
+        this.redisTemplate = redisTemplate;
+        // 로더는 캐시 락 밖(가상 스레드)에서 돌고, 같은 매치의 동시 조회는 스크립트 호출 하나를 함께 기다린다
+        this.admissions = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(watermarkCacheMillis))
+                .executor(AsyncLoads.LOADER)
+                .buildAsync(this::advance);
+        this.queueTtlSeconds = Duration.ofHours(queueTtlHours).toSeconds();
+        this.macPrototype = newMac(secret);
+    }
+
+    /**
+     * 대기열 켜기 (초당 ratePerSecond명 입장). 이미 켜져 있으면 속도만 바꾼다.
+     * 꺼져 있던 대기열을 켜면 세대가 바뀌어 이전에 발급한 토큰은 모두 무효가 된다.
+     */
+    public void enable(Long matchId, int ratePerSecond) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be positive");
+        }
+        redisTemplate.execute(
+                enableScript,
+                List.of(RedisKeys.admission(matchId), RedisKeys.waitingGeneration(matchId)),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(ratePerSecond),
+                String.valueOf(queueTtlSeconds)
+        );
+        admissions.synchronous().invalidate(matchId);
+    }
+
+    /**
+     * 대기열 끄기. 대기 중인 순번도 모두 지운다. (세대 키는 남겨 다음에 켤 때 이어서 올린다)
+     */
+    public void disable(Long matchId) {
+        redisTemplate.delete(List.of(RedisKeys.admission(matchId), RedisKeys.waitingQueue(matchId),
+                RedisKeys.waitingSeq(matchId)));
+        admissions.synchronous().invalidate(matchId);
+    }
+
+    /**
+     * 대기열 입장. 같은 사용자가 다시 들어오면 처음 받은 순번을 그대로 준다.
+     */
+    public WaitingRoomStatusResponse join(Long matchId, Long userId) {
+        List<?> result = redisTemplate.execute(
+                joinScript,
+                List.of(RedisKeys.waitingQueue(matchId), RedisKeys.waitingSeq(matchId), RedisKeys.admission(matchId)),
+                userId.toString(),
+                String.valueOf(queueTtlSeconds)
+        );
+        long pos = result == null || result.isEmpty() ? 0 : ((Number) result.get(0)).longValue();
+        long generation = result == null || result.size() < 2 ? 0 : ((Number) result.get(1)).longValue();
+        long expiresAt = System.currentTimeMillis() / 1000 + queueTtlSeconds;
+        return status(matchId, userId, pos, issueToken(matchId, userId, pos, generation, expiresAt));
+    }
+
+    /**
+     * 토큰으로 순번 조회 (Redis 조회는 노드당 watermarkCacheMillis에 한 번)
+     *
+     * @return 토큰이 이 매치 것이 아니거나, 위조·만료됐거나, 이전 세대 대기열의 것이면 null (다시 입장해야 한다)
+     */
+    public WaitingRoomStatusResponse status(Long matchId, String token) {
+        long[] parsed = verifyToken(token);
+        if (parsed == null || parsed[0] != matchId) {
+            return null;
+        }
+        Admission admission = admission(matchId);
+        if (admission.upto != DISABLED && parsed[3] != admission.generation) {
+            return null;
+        }
+        return status(matchId, parsed[1], parsed[2], token, admission);
+    }
+
+    /**
+     * hold/confirm 진입 검사. 대기열이 꺼진 매치는 항상 true.
+     */
+    public boolean isAdmitted(Long matchId, Long userId, String token) {
+        Admission admission = admission(matchId);
+        if (admission.upto == DISABLED) {
+            return true;
+        }
+        long[] parsed = verifyToken(token);
+        return parsed != null
+                && parsed[0] == matchId
+                && userId != null && parsed[1] == userId
+                && parsed[3] == admission.generation
+                && parsed[2] <= admission.upto;
+    }
+
+    private WaitingRoomStatusResponse status(Long matchId, long userId, long position, String token) {
+        return status(matchId, userId, position, token, admission(matchId));
+    }
+
+    private WaitingRoomStatusResponse status(Long matchId, long userId, long position, String token,
+                                             Admission admission) {
+        boolean enabled = admission.upto != DISABLED;
+        long upto = enabled ? admission.upto : position;
+        long ahead = Math.max(0, position - upto);
+        return WaitingRoomStatusResponse.builder()
+                .matchId(matchId)
+                .userId(userId)
+                .token(token)
+                .position(position)
+                .admittedUpTo(upto)
+                .admitted(ahead == 0)
+                .ahead(ahead)
+                .estimatedWaitSeconds(admission.rate > 0 ? (ahead + admission.rate - 1) / admission.rate : 0)
+                .build();
+    }
+
+    private Admission admission(Long matchId) {
+        return AsyncLoads.join(admissions.get(matchId));
+    }
+
+    private Admission advance(Long matchId) {
+        List<?> result = redisTemplate.execute(
+                advanceScript,
+                List.of(RedisKeys.admission(matchId), RedisKeys.waitingSeq(matchId)),
+                String.valueOf(System.currentTimeMillis())
+        );
+        if (result == null || result.size() < 3) {
+            return new Admission(DISABLED, 0, 0);
+        }
+        return new Admission(((Number) result.get(0)).longValue(), ((Number) result.get(1)).longValue(),
+                ((Number) result.get(2)).longValue());
+    }
+
+    private String issueToken(Long matchId, long userId, long position, long generation, long expiresAt) {
+        String payload = matchId + "." + userId + "." + position + "." + generation + "." + expiresAt;
+        return payload + "." + sign(payload);
+    }
+
+    /**
+     * @return {matchId, userId, position, generation, expiresAt},
+     *         형식이 틀리거나 서명이 맞지 않거나 만료됐으면 null
+     */
+    private long[] verifyToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        int sigStart = token.lastIndexOf('.');
+        if (sigStart < 0) {
+            return null;
+        }
+        String payload = token.substring(0, sigStart);
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(sigStart + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return null;
+        }
+        String[] parts = payload.split("\\.");
+        if (parts.length != 5) {
+            return null;
+        }
+        long[] parsed = new long[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                parsed[i] = Long.parseLong(parts[i]);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return parsed[4] < System.currentTimeMillis() / 1000 ? null : parsed;
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = (Mac) macPrototype.clone();
+            byte[] digest = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, SIGNATURE_BYTES));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Mac newMac(String secret) {
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            // 노드마다 달라지므로 단일 노드 개발 환경에서만 쓸 수 있다
+            log.warn("ticketing.waiting-room.secret is not set; using a random per-process key");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize waiting room token signer", e);
+        }
+    }
+
+    private static final class Admission {
+        private final long upto;
+        private final long rate;
+        private final long generation;
+
+        private Admission(long upto, long rate, long generation) {
+            this.upto = upto;
+            this.rate = rate;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.ticketing.load;
+
+import com.ticketing.seat.entity.Match;
+import com.ticketing.seat.redis.MatchStatusRepository;
+import com.ticketing.seat.repository.MatchRepository;
+import com.ticketing.seat.service.EventPublisherService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 매치 오픈 순간의 몰림을 재현하는 부하 시뮬레이터.
+ *
+ * 내장 Redis(redis-server 바이너리)와 H2(MySQL 모드)를 띄우고 실제 HTTP로
+ * /matches/{matchId}/hold -> /matches/{matchId}/seats/confirm 을 호출한다.
+ * Kafka 발행은 목으로 대체한다.
+ *
+ * 실행: ./gradlew loadTest -Pload.users=5000 -Pload.seed=42
+ * 설정(-Pload.*): users, seed, concurrency, max-retries, pair-ratio, front-skew,
+ *                section-weights, seats-per-section, redis-port
+ * 결과는 콘솔과 build/load-reports 에 남는다.
+ */
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.kafka.listener.auto-startup=false",
+                "ticketing.hall.sections=A,B,C,D"
+        })
+class FlashCrowdLoadSimulationTest {
+
+    private static final String[] SECTIONS = {"A", "B", "C", "D"};
+
+    private static final int REDIS_PORT = Integer.getInteger("load.redis-port", 16379);
+    private static final int USERS = Integer.getInteger("load.users", 5000);
+    private static final long SEED = Long.getLong("load.seed", 42L);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 500);
+    private static final int MAX_RETRIES = Integer.getInteger("load.max-retries", 2);
+    private static final int SEATS_PER_SECTION = Integer.getInteger("load.seats-per-section", 100);
+    private static final double PAIR_RATIO = Double.parseDouble(System.getProperty("load.pair-ratio", "0.6"));
+    private static final double FRONT_SKEW = Double.parseDouble(System.getProperty("load.front-skew", "2.0"));
+    private static final String SECTION_WEIGHTS = System.getProperty("load.section-weights", "0.5,0.25,0.15,0.1");
+
+    private static RedisServer redisServer;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    MatchRepository matchRepository;
+
+    @Autowired
+    MatchStatusRepository matchStatusRepository;
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @MockitoBean
+    EventPublisherService eventPublisherService;
+
+    @MockitoBean
+    KafkaAdmin kafkaAdmin;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = new RedisServer(REDIS_PORT);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "localhost");
+        registry.add("spring.data.redis.port", () -> REDIS_PORT);
+        registry.add("ticketing.hall.seats-per-section", () -> SEATS_PER_SECTION);
+    }
+
+    @Test
+    void flashCrowdOpening() throws Exception {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+
+        Long matchId = openMatch(SECTIONS.length * SEATS_PER_SECTION);
+        SeatChoiceModel model = new SeatChoiceModel(SECTIONS, parseWeights(), SEATS_PER_SECTION,
+                FRONT_SKEW, PAIR_RATIO);
+
+        PhaseStats hold = new PhaseStats("hold");
+        PhaseStats confirm = new PhaseStats("confirm");
+        Map<Long, List<String>> holders = new ConcurrentHashMap<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+
+            // 1. 오픈 순간: 모든 사용자가 동시에 선점 시도 (충돌 시 다른 좌석으로 재시도)
+            CountDownLatch gate = new CountDownLatch(1);
+            List<Future<?>> holdTasks = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                long userId = i + 1;
+                Random random = new Random(SEED * 31 + userId);
+                holdTasks.add(executor.submit(() -> {
+                    gate.await();
+                    for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+                        List<String> seats = model.choose(random);
+                        int status = call(client, inFlight, hold, "/hold", matchId, userId, seats);
+                        if (status == 200) {
+                            holders.put(userId, seats);
+                            break;
+                        }
+                        if (status != 409) {
+                            break;
+                        }
+                    }
+                    return null;
+                }));
+            }
+            hold.start();
+            gate.countDown();
+            awaitAll(holdTasks);
+            hold.end();
+
+            // 2. 선점 성공자 확정
+            List<Future<?>> confirmTasks = new ArrayList<>(holders.size());
+            confirm.start();
+            holders.forEach((userId, seats) -> confirmTasks.add(executor.submit(() -> {
+                call(client, inFlight, confirm, "/seats/confirm", matchId, userId, seats);
+                return null;
+            })));
+            awaitAll(confirmTasks);
+            confirm.end();
+        }
+
+        String report = String.format(
+                "Flash crowd simulation: users=%d seed=%d concurrency=%d seats=%d retries=%d pairRatio=%.2f%n%s%n%s%n",
+                USERS, SEED, CONCURRENCY, SECTIONS.length * SEATS_PER_SECTION, MAX_RETRIES, PAIR_RATIO,
+                hold.report(), confirm.report());
+        System.out.println(report);
+        writeReport(report);
+
+        assertThat(hold.okCount()).isPositive();
+        assertThat(confirm.okCount()).isEqualTo(holders.size());
+    }
+
+    private Long openMatch(int totalSeats) {
+        LocalDateTime now = LocalDateTime.now();
+        Match match = matchRepository.save(Match.builder()
+                .roomId(1L)
+                .matchName("load-test")
+                .difficulty(Match.Difficulty.NORMAL)
+                .maxUser(totalSeats)
+                .usedBotCount(0)
+                .startedAt(now)
+                .status(Match.MatchStatus.PLAYING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        matchStatusRepository.setMatchStatus(match.getMatchId(), "OPEN");
+        return match.getMatchId();
+    }
+
+    private int call(HttpClient client, Semaphore inFlight, PhaseStats stats,
+                     String path, Long matchId, long userId, List<String> seats) throws InterruptedException {
+        String body = "{\"userId\":" + userId + ",\"seatIds\":["
+                + seats.stream().map(s -> "\"" + s + "\"").collect(Collectors.joining(","))
+                + "]}";
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + port + "/api/ticketing/matches/" + matchId + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        inFlight.acquire();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            stats.record(response.statusCode(), System.nanoTime() - start);
+            return response.statusCode();
+        } catch (IOException e) {
+            stats.recordError(System.nanoTime() - start);
+            return -1;
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) throws Exception {
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private static double[] parseWeights() {
+        String[] parts = SECTION_WEIGHTS.split(",");
+        double[] weights = new double[SECTIONS.length];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = i < parts.length ? Double.parseDouble(parts[i].trim()) : 1.0;
+        }
+        return weights;
+    }
+
+    private static void writeReport(String report) throws IOException {
+        Path dir = Path.of("build", "load-reports");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("flash-crowd-users" + USERS + "-seed" + SEED + ".txt"), report);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ticketing.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 단계(hold / confirm)별 지연 분포와 결과 집계
+ */
+class PhaseStats {
+
+    private final String name;
+    private final Histogram latency = new ConcurrentHistogram(TimeUnit.SECONDS.toNanos(60), 3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder conflict = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder error = new LongAdder();
+
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    PhaseStats(String name) {
+        this.name = name;
+    }
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    void end() {
+        endNanos = System.nanoTime();
+    }
+
+    void record(int status, long latencyNanos) {
+        latency.recordValue(Math.min(latencyNanos, latency.getHighestTrackableValue()));
+        if (status == 200) {
+            ok.increment();
+        } else if (status == 409) {
+            conflict.increment();
+        } else if (status >= 400 && status < 500) {
+            rejected.increment();
+        } else {
+            error.increment();
+        }
+    }
+
+    void recordError(long latencyNanos) {
+        latency.recordValue(Math.min(latencyNanos, latency.getHighestTrackableValue()));
+        error.increment();
+    }
+
+    long okCount() {
+        return ok.sum();
+    }
+
+    String report() {
+        long total = latency.getTotalCount();
+        double seconds = Math.max(endNanos - startNanos, 1) / 1_000_000_000.0;
+        return String.format(
+                "[%s] requests=%d ok=%d conflict=%d (%.1f%%) rejected=%d error=%d throughput=%.0f req/s%n"
+                        + "  latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f",
+                name, total, ok.sum(), conflict.sum(),
+                total == 0 ? 0.0 : conflict.sum() * 100.0 / total,
+                rejected.sum(), error.sum(), total / seconds,
+                ms(latency.getValueAtPercentile(50)),
+                ms(latency.getValueAtPercentile(90)),
+                ms(latency.getValueAtPercentile(99)),
+                ms(latency.getValueAtPercentile(99.9)),
+                ms(latency.getMaxValue()));
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
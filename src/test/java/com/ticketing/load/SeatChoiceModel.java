@@ -0,0 +1,63 @@
+package com.ticketing.load;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 오픈 시점 좌석 선택 분포.
+ * - 구역 선택은 가중치를 따른다 (앞 구역일수록 인기)
+ * - 구역 안에서는 앞 번호 좌석에 몰린다 (u^skew 분포)
+ * - pairRatio 비율의 사용자는 붙어 있는 2석을 고른다
+ *
+ * 같은 seed면 같은 선택 순서가 나오므로 레이아웃/핫패스 변경 전후를 비교할 수 있다.
+ */
+class SeatChoiceModel {
+
+    private final String[] sections;
+    private final double[] cumulativeWeights;
+    private final int seatsPerSection;
+    private final double frontSkew;
+    private final double pairRatio;
+
+    SeatChoiceModel(String[] sections, double[] weights, int seatsPerSection, double frontSkew, double pairRatio) {
+        if (sections.length != weights.length) {
+            throw new IllegalArgumentException("sections and weights must have the same length");
+        }
+        this.sections = sections;
+        this.seatsPerSection = seatsPerSection;
+        this.frontSkew = frontSkew;
+        this.pairRatio = pairRatio;
+
+        double total = 0;
+        for (double w : weights) {
+            total += w;
+        }
+        this.cumulativeWeights = new double[weights.length];
+        double acc = 0;
+        for (int i = 0; i < weights.length; i++) {
+            acc += weights[i] / total;
+            cumulativeWeights[i] = acc;
+        }
+    }
+
+    List<String> choose(Random random) {
+        String section = sections[pickSection(random.nextDouble())];
+        int number = 1 + (int) (Math.pow(random.nextDouble(), frontSkew) * seatsPerSection);
+        number = Math.min(number, seatsPerSection);
+
+        if (random.nextDouble() < pairRatio) {
+            int first = Math.min(number, seatsPerSection - 1);
+            return List.of(section + "-" + first, section + "-" + (first + 1));
+        }
+        return List.of(section + "-" + number);
+    }
+
+    private int pickSection(double u) {
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (u <= cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+}
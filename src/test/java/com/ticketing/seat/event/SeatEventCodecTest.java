@@ -0,0 +1,141 @@
+package com.ticketing.seat.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatEventCodecTest {
+
+    private static final String TOPIC = "seat-confirmation";
+
+    @Test
+    void 모든_필드를_그대로_복원한다() {
+        SeatConfirmationEvent event = SeatConfirmationEvent.builder()
+                .userId(Long.MAX_VALUE)
+                .matchId(42L)
+                .seatIds(List.of("A-1", "A-2"))
+                .sectionIds(List.of("A", "A"))
+                .timestamp(1_760_000_000_000L)
+                .success(true)
+                .message("좌석 확정 성공")
+                .selectionDurationMs(12_345L)
+                .build();
+
+        byte[] encoded = SeatEventCodec.encode(event);
+
+        assertThat(SeatEventCodec.isBinary(encoded)).isTrue();
+        assertThat(SeatEventCodec.decode(encoded)).isEqualTo(event);
+    }
+
+    @Test
+    void null_필드와_빈_목록을_구분한다() {
+        SeatConfirmationEvent nulls = SeatConfirmationEvent.builder().build();
+        SeatConfirmationEvent empties = SeatConfirmationEvent.builder()
+                .userId(0L)
+                .matchId(0L)
+                .seatIds(List.of())
+                .sectionIds(List.of())
+                .message("")
+                .build();
+
+        SeatConfirmationEvent decodedNulls = SeatEventCodec.decode(SeatEventCodec.encode(nulls));
+        SeatConfirmationEvent decodedEmpties = SeatEventCodec.decode(SeatEventCodec.encode(empties));
+
+        assertThat(decodedNulls).isEqualTo(nulls);
+        assertThat(decodedNulls.getSeatIds()).isNull();
+        assertThat(decodedNulls.getMessage()).isNull();
+        assertThat(decodedEmpties).isEqualTo(empties);
+        assertThat(decodedEmpties.getSeatIds()).isEmpty();
+        assertThat(decodedEmpties.getMessage()).isEmpty();
+    }
+
+    @Test
+    void 목록_안의_null은_빈_문자열로_쓴다() {
+        SeatConfirmationEvent event = SeatConfirmationEvent.builder()
+                .seatIds(Arrays.asList("A-1", null))
+                .build();
+
+        assertThat(SeatEventCodec.decode(SeatEventCodec.encode(event)).getSeatIds()).containsExactly("A-1", "");
+    }
+
+    @Test
+    void 음수_값은_인코딩하지_않는다() {
+        SeatConfirmationEvent event = SeatConfirmationEvent.builder().timestamp(-1).build();
+
+        assertThatThrownBy(() -> SeatEventCodec.encode(event)).isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void 모르는_버전과_타입은_거절한다() {
+        byte[] encoded = SeatEventCodec.encode(SeatConfirmationEvent.builder().matchId(1L).build());
+
+        byte[] newerVersion = encoded.clone();
+        newerVersion[1] = SeatEventCodec.VERSION + 1;
+        byte[] zeroVersion = encoded.clone();
+        zeroVersion[1] = 0;
+        byte[] unknownType = encoded.clone();
+        unknownType[2] = 99;
+
+        assertThatThrownBy(() -> SeatEventCodec.decode(newerVersion))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("version");
+        assertThatThrownBy(() -> SeatEventCodec.decode(zeroVersion))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> SeatEventCodec.decode(unknownType))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("type");
+    }
+
+    @Test
+    void 잘린_메시지는_거절한다() {
+        byte[] encoded = SeatEventCodec.encode(SeatConfirmationEvent.builder()
+                .matchId(42L)
+                .seatIds(List.of("A-1"))
+                .build());
+
+        for (int length = 0; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThatThrownBy(() -> SeatEventCodec.decode(truncated)).isInstanceOf(SerializationException.class);
+        }
+    }
+
+    @Test
+    void 역직렬화기는_JSON_메시지도_읽는다() throws Exception {
+        SeatConfirmationEvent event = SeatConfirmationEvent.builder()
+                .userId(7L)
+                .matchId(42L)
+                .seatIds(List.of("B-3"))
+                .sectionIds(List.of("B"))
+                .timestamp(1_760_000_000_000L)
+                .success(false)
+                .message("선점 만료")
+                .build();
+        byte[] json = new ObjectMapper().writeValueAsBytes(event);
+
+        try (SeatEventDeserializer deserializer = new SeatEventDeserializer()) {
+            assertThat(SeatEventCodec.isBinary(json)).isFalse();
+            assertThat(deserializer.deserialize(TOPIC, json)).isEqualTo(event);
+            assertThat(deserializer.deserialize(TOPIC, SeatEventCodec.encode(event))).isEqualTo(event);
+            assertThat(deserializer.deserialize(TOPIC, null)).isNull();
+        }
+    }
+
+    @Test
+    void 직렬화기는_좌석_이벤트를_바이너리로_쓴다() {
+        SeatConfirmationEvent event = SeatConfirmationEvent.builder().matchId(42L).build();
+
+        try (SeatEventSerializer serializer = new SeatEventSerializer();
+             SeatEventDeserializer deserializer = new SeatEventDeserializer()) {
+            byte[] bytes = serializer.serialize(TOPIC, event);
+
+            assertThat(bytes[0]).isEqualTo(SeatEventCodec.MAGIC);
+            assertThat(deserializer.deserialize(TOPIC, bytes)).isEqualTo(event);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.ticketing.seat.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatEventSpoolTest {
+
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void 기록한_순서대로_읽고_checkpoint_이후부터_이어서_읽는다() {
+        SeatEventSpool spool = open(SEGMENT_BYTES, 4);
+        for (long userId = 1; userId <= 3; userId++) {
+            spool.append(event(userId));
+        }
+
+        List<SeatEventSpool.Entry> entries = spool.read(10);
+        assertThat(userIds(entries)).containsExactly(1L, 2L, 3L);
+        // commit 전에는 같은 레코드를 다시 읽는다
+        assertThat(userIds(spool.read(10))).containsExactly(1L, 2L, 3L);
+
+        spool.commit(entries.get(1));
+        assertThat(userIds(spool.read(10))).containsExactly(3L);
+
+        SeatEventSpool reopened = open(SEGMENT_BYTES, 4);
+        assertThat(userIds(reopened.read(10))).containsExactly(3L);
+    }
+
+    @Test
+    void 다시_열면_마지막_레코드_뒤에_이어서_쓴다() {
+        SeatEventSpool spool = open(SEGMENT_BYTES, 4);
+        spool.append(event(1));
+        spool.append(event(2));
+        long pending = spool.pendingBytes();
+
+        SeatEventSpool reopened = open(SEGMENT_BYTES, 4);
+        assertThat(reopened.pendingBytes()).isEqualTo(pending);
+        reopened.append(event(3));
+
+        assertThat(userIds(reopened.read(10))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void read는_max건까지만_읽는다() {
+        SeatEventSpool spool = open(SEGMENT_BYTES, 4);
+        for (long userId = 1; userId <= 5; userId++) {
+            spool.append(event(userId));
+        }
+
+        List<SeatEventSpool.Entry> first = spool.read(2);
+        assertThat(userIds(first)).containsExactly(1L, 2L);
+        spool.commit(first.get(1));
+        assertThat(userIds(spool.read(2))).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void checkpoint_crc가_맞지_않으면_처음부터_다시_보낸다() throws IOException {
+        SeatEventSpool spool = open(SEGMENT_BYTES, 4);
+        spool.append(event(1));
+        spool.append(event(2));
+        spool.commit(spool.read(10).get(0));
+        spool.flush();
+
+        // checkpoint의 offset만 바꾸고 crc는 그대로 둔다
+        writeInt(dir.resolve("checkpoint"), 8, 1);
+
+        SeatEventSpool reopened = open(SEGMENT_BYTES, 4);
+        assertThat(userIds(reopened.read(10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void 세그먼트가_차면_다음_세그먼트로_넘어가고_다_보낸_세그먼트는_지운다() throws IOException {
+        int segmentBytes = 128;
+        SeatEventSpool spool = open(segmentBytes, 16);
+        for (long userId = 1; userId <= 20; userId++) {
+            spool.append(event(userId));
+        }
+        assertThat(segmentFiles()).hasSizeGreaterThan(2);
+
+        List<SeatEventSpool.Entry> entries = spool.read(100);
+        assertThat(userIds(entries)).containsExactly(
+                1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L);
+
+        spool.commit(entries.get(entries.size() - 1));
+        assertThat(segmentFiles()).hasSize(1);
+        assertThat(spool.read(100)).isEmpty();
+        assertThat(spool.pendingBytes()).isZero();
+
+        // 다시 열어도 보낸 레코드는 읽지 않는다
+        SeatEventSpool reopened = open(segmentBytes, 16);
+        assertThat(reopened.read(100)).isEmpty();
+        reopened.append(event(21));
+        assertThat(userIds(reopened.read(100))).containsExactly(21L);
+    }
+
+    @Test
+    void 보내지_않은_세그먼트가_한도를_넘으면_append가_실패한다() {
+        SeatEventSpool spool = open(128, 2);
+
+        assertThatThrownBy(() -> {
+            for (long userId = 1; userId <= 100; userId++) {
+                spool.append(event(userId));
+            }
+        }).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void 손상된_레코드는_건너뛰고_위치는_넘길_수_있다() throws IOException {
+        SeatEventSpool spool = open(SEGMENT_BYTES, 4);
+        spool.append(event(1));
+        spool.append(event(2));
+        spool.append(event(3));
+
+        // 두 번째 레코드 payload의 마지막 바이트를 바꾼다 (crc 불일치)
+        int secondEnd = (int) spool.pendingBytes() - recordBytes(event(3));
+        flipByte(segmentFile(1), secondEnd - 1);
+
+        List<SeatEventSpool.Entry> entries = spool.read(10);
+        assertThat(entries).hasSize(3);
+        assertThat(entries.get(0).getEvent().getUserId()).isEqualTo(1L);
+        assertThat(entries.get(1).getEvent()).isNull();
+        assertThat(entries.get(2).getEvent().getUserId()).isEqualTo(3L);
+
+        spool.commit(entries.get(1));
+        assertThat(userIds(spool.read(10))).containsExactly(3L);
+    }
+
+    @Test
+    void 다시_열면_쓰다_만_레코드부터_잘라낸다() throws IOException {
+        SeatEventSpool spool = open(SEGMENT_BYTES, 4);
+        spool.append(event(1));
+        spool.append(event(2));
+        int end = (int) spool.pendingBytes();
+
+        // 길이만 쓰이고 crc/payload는 쓰이지 않은 레코드
+        writeInt(segmentFile(1), end, 20);
+
+        SeatEventSpool reopened = open(SEGMENT_BYTES, 4);
+        assertThat(reopened.pendingBytes()).isEqualTo(end);
+        assertThat(userIds(reopened.read(10))).containsExactly(1L, 2L);
+
+        // 잘라낸 자리에 덮어쓴다
+        reopened.append(event(3));
+        assertThat(userIds(reopened.read(10))).containsExactly(1L, 2L, 3L);
+    }
+
+    private SeatEventSpool open(int segmentBytes, int maxSegments) {
+        return new SeatEventSpool(new SimpleMeterRegistry(), dir.toString(), segmentBytes, maxSegments);
+    }
+
+    private static SeatConfirmationEvent event(long userId) {
+        return SeatConfirmationEvent.builder()
+                .userId(userId)
+                .matchId(42L)
+                .seatIds(List.of("A-1"))
+                .sectionIds(List.of("A"))
+                .timestamp(1_760_000_000_000L)
+                .success(true)
+                .build();
+    }
+
+    private static int recordBytes(SeatConfirmationEvent event) {
+        return 8 + SeatEventCodec.encode(event).length;
+    }
+
+    private static List<Long> userIds(List<SeatEventSpool.Entry> entries) {
+        return entries.stream().map(e -> e.getEvent().getUserId()).toList();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("spool-")).toList();
+        }
+    }
+
+    private Path segmentFile(long seq) {
+        return dir.resolve(String.format("spool-%020d.log", seq));
+    }
+
+    private static void writeInt(Path path, int position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(value).flip(), position);
+        }
+    }
+
+    private static void flipByte(Path path, int position) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, position);
+            b.put(0, (byte) ~b.get(0));
+            channel.write(b.rewind(), position);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ticketing.seat.layout;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HallLayoutTest {
+
+    @Test
+    void 구역_이름에_대시가_있어도_마지막_대시로_번호를_나눈다() {
+        HallLayout layout = new HallLayout(List.of("A", "VIP-A"), List.of("R", "VIP"),
+                new int[]{1, 2}, 10, 5);
+
+        assertThat(layout.indexOf("A-3")).isEqualTo(2);
+        assertThat(layout.indexOf("VIP-A-3")).isEqualTo(12);
+        assertThat(layout.seatIdAt(12)).isEqualTo("VIP-A-3");
+
+        assertThat(layout.indexOf("VIP-3")).isEqualTo(-1);
+        assertThat(layout.indexOf("VIP-A-11")).isEqualTo(-1);
+        assertThat(layout.indexOf("VIP-A-")).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,147 @@
+package com.ticketing.seat.layout;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatAvailabilityIndexTest {
+
+    // 구역 A(R), B(S) / 구역당 20석, 열당 10석 -> 열 0,1 = A, 열 2,3 = B
+    private static final HallLayout LAYOUT = new HallLayout(List.of("A", "B"), List.of("R", "S"),
+            new int[]{1, 2}, 20, 10);
+
+    @Test
+    void 빈_홀에서는_구역_앞_열의_연속_좌석을_고른다() {
+        for (int trial = 0; trial < 200; trial++) {
+            SeatAvailabilityIndex index = new SeatAvailabilityIndex(LAYOUT);
+
+            int[] seats = index.claim(0, LAYOUT.rowCount(), 2, null);
+
+            assertThat(seats).hasSize(2);
+            assertThat(LAYOUT.rowOf(seats[0]) % LAYOUT.rowsPerSection()).isZero();
+            assertThat(LAYOUT.rowOf(seats[1])).isEqualTo(LAYOUT.rowOf(seats[0]));
+            assertThat(seats[1]).isEqualTo(seats[0] + 1);
+        }
+    }
+
+    @Test
+    void 상위_후보_밖의_자리는_고르지_않는다() {
+        // 앞 열(열 0, 2)의 2석 run 위치 0~8의 점수(가운데와의 거리)는 8,6,4,2,0,2,4,6,8.
+        // 상위 8개(0,2,2,2,2,4,4,4)만 후보이므로 가장자리(위치 0,1,7,8)는 뽑히지 않는다
+        for (int trial = 0; trial < 500; trial++) {
+            SeatAvailabilityIndex index = new SeatAvailabilityIndex(LAYOUT);
+
+            int[] seats = index.claim(0, LAYOUT.rowCount(), 2, null);
+
+            assertThat(LAYOUT.positionInRow(seats[0])).isBetween(2, 6);
+        }
+    }
+
+    @Test
+    void 남은_연속_빈자리가_하나뿐이면_그_자리를_고른다() {
+        SeatAvailabilityIndex index = new SeatAvailabilityIndex(LAYOUT);
+        int free1 = LAYOUT.rowStart(1) + 7;
+        int free2 = free1 + 1;
+        for (int i = 0; i < LAYOUT.capacity(); i++) {
+            if (i != free1 && i != free2) {
+                index.occupy(i);
+            }
+        }
+
+        assertThat(index.claim(0, LAYOUT.rowCount(), 2, null)).containsExactly(free1, free2);
+        assertThat(index.claim(0, LAYOUT.rowCount(), 1, null)).isNull();
+    }
+
+    @Test
+    void 떨어진_빈자리만_있으면_연속_좌석은_실패한다() {
+        SeatAvailabilityIndex index = new SeatAvailabilityIndex(LAYOUT);
+        // 한 칸씩 건너 점유
+        for (int i = 0; i < LAYOUT.capacity(); i += 2) {
+            index.occupy(i);
+        }
+
+        assertThat(index.claim(0, LAYOUT.rowCount(), 2, null)).isNull();
+        assertThat(index.claim(0, LAYOUT.rowCount(), 1, null)).hasSize(1);
+    }
+
+    @Test
+    void 열_경계를_넘는_연속_좌석은_고르지_않는다() {
+        SeatAvailabilityIndex index = new SeatAvailabilityIndex(LAYOUT);
+        // 열 0의 마지막 좌석과 열 1의 첫 좌석만 비워 둔다 (인덱스는 이어지지만 다른 열)
+        int last = LAYOUT.rowStart(0) + 9;
+        int first = LAYOUT.rowStart(1);
+        for (int i = 0; i < LAYOUT.capacity(); i++) {
+            if (i != last && i != first) {
+                index.occupy(i);
+            }
+        }
+
+        assertThat(index.claim(0, LAYOUT.rowCount(), 2, null)).isNull();
+    }
+
+    @Test
+    void 열_범위_안에서만_고른다() {
+        SeatAvailabilityIndex index = new SeatAvailabilityIndex(LAYOUT);
+        int sectionB = LAYOUT.sectionIndexOf("B");
+        int fromRow = sectionB * LAYOUT.rowsPerSection();
+
+        int[] seats = index.claim(fromRow, fromRow + LAYOUT.rowsPerSection(), 2, null);
+
+        assertThat(Arrays.stream(seats).boxed().toList()).allSatisfy(seat -> assertThat(LAYOUT.sectionAt(LAYOUT.sectionOf(seat))).isEqualTo("B"));
+    }
+
+    @Test
+    void 허용_마스크_밖의_좌석은_고르지_않는다() {
+        SeatAvailabilityIndex index = new SeatAvailabilityIndex(LAYOUT);
+        long[] gradeS = index.filterMask("S", g -> index.buildMask(i -> g.equals(LAYOUT.gradeAt(i))));
+
+        int[] seats = index.claim(0, LAYOUT.rowCount(), 2, gradeS);
+
+        assertThat(Arrays.stream(seats).boxed().toList()).allSatisfy(seat -> assertThat(LAYOUT.gradeAt(seat)).isEqualTo("S"));
+        // 같은 key의 마스크는 재사용된다
+        assertThat(index.filterMask("S", g -> new long[0])).isSameAs(gradeS);
+    }
+
+    @Test
+    void 고른_좌석은_점유되고_해제하면_다시_고를_수_있다() {
+        SeatAvailabilityIndex index = new SeatAvailabilityIndex(LAYOUT);
+        Set<Integer> claimed = new HashSet<>();
+        for (int i = 0; i < LAYOUT.capacity(); i++) {
+            int[] seats = index.claim(0, LAYOUT.rowCount(), 1, null);
+            assertThat(seats).isNotNull();
+            assertThat(claimed.add(seats[0])).isTrue();
+        }
+        assertThat(index.claim(0, LAYOUT.rowCount(), 1, null)).isNull();
+
+        index.release(13);
+        assertThat(index.claim(0, LAYOUT.rowCount(), 1, null)).containsExactly(13);
+    }
+
+    @Test
+    void 좌석_수가_범위를_벗어나면_null() {
+        SeatAvailabilityIndex index = new SeatAvailabilityIndex(LAYOUT);
+
+        assertThat(index.claim(0, LAYOUT.rowCount(), 0, null)).isNull();
+        assertThat(index.claim(0, LAYOUT.rowCount(), 11, null)).isNull();
+        assertThat(index.claim(0, LAYOUT.rowCount(), HallLayout.MAX_SEATS_PER_ROW + 1, null)).isNull();
+    }
+
+    @Test
+    void 마지막_열이_짧은_구역도_열_너비를_넘지_않는다() {
+        // 구역당 15석, 열당 10석 -> 둘째 열은 5석
+        HallLayout layout = new HallLayout(List.of("A"), List.of("R"), new int[]{1}, 15, 10);
+        SeatAvailabilityIndex index = new SeatAvailabilityIndex(layout);
+        for (int i = 0; i < 10; i++) {
+            index.occupy(i);
+        }
+
+        assertThat(index.claim(0, layout.rowCount(), 6, null)).isNull();
+        int[] seats = index.claim(0, layout.rowCount(), 5, null);
+        assertThat(seats).containsExactly(10, 11, 12, 13, 14);
+    }
+}
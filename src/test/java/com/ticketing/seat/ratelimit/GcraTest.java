@@ -0,0 +1,66 @@
+package com.ticketing.seat.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GcraTest {
+
+    // 초당 10개 (간격 100ms), 버스트 3
+    private static final RequestRateLimiter.Limit LIMIT = new RequestRateLimiter.Limit(10, 3);
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void 버스트만큼_허용한_뒤_다음_토큰까지_기다리게_한다() {
+        RequestRateLimiter.Gcra gcra = new RequestRateLimiter.Gcra();
+        long now = 1_000_000_000L;
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(gcra.tryAcquire(LIMIT, now)).isZero();
+        }
+        assertThat(gcra.tryAcquire(LIMIT, now)).isEqualTo(INTERVAL);
+        // 거절은 토큰을 쓰지 않는다
+        assertThat(gcra.tryAcquire(LIMIT, now + INTERVAL / 2)).isEqualTo(INTERVAL / 2);
+
+        assertThat(gcra.tryAcquire(LIMIT, now + INTERVAL)).isZero();
+        assertThat(gcra.tryAcquire(LIMIT, now + INTERVAL)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void 오래_쉬어도_버스트_이상은_쌓이지_않는다() {
+        RequestRateLimiter.Gcra gcra = new RequestRateLimiter.Gcra();
+        long now = 1_000_000_000L;
+        gcra.tryAcquire(LIMIT, now);
+
+        long later = now + TimeUnit.SECONDS.toNanos(60);
+        for (int i = 0; i < 3; i++) {
+            assertThat(gcra.tryAcquire(LIMIT, later)).isZero();
+        }
+        assertThat(gcra.tryAcquire(LIMIT, later)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void 음수_nanoTime에서도_같게_동작한다() {
+        // System.nanoTime()은 음수일 수 있다
+        RequestRateLimiter.Gcra gcra = new RequestRateLimiter.Gcra();
+        long now = -5_000_000_000L;
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(gcra.tryAcquire(LIMIT, now)).isZero();
+        }
+        assertThat(gcra.tryAcquire(LIMIT, now)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void 버스트가_1이면_간격마다_하나씩만_허용한다() {
+        RequestRateLimiter.Limit limit = new RequestRateLimiter.Limit(10, 1);
+        RequestRateLimiter.Gcra gcra = new RequestRateLimiter.Gcra();
+        long now = 1_000_000_000L;
+
+        assertThat(gcra.tryAcquire(limit, now)).isZero();
+        assertThat(gcra.tryAcquire(limit, now + 1)).isEqualTo(INTERVAL - 1);
+        assertThat(gcra.tryAcquire(limit, now + INTERVAL)).isZero();
+    }
+}